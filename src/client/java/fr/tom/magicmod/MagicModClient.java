@@ -12,5 +12,21 @@ public class MagicModClient implements ClientModInitializer {
 			MagicEntities.FLOATING_WEAPON, 
 			fr.tom.magicmod.client.FloatingWeaponRenderer::new
 		);
+
+		// Budget and distance LOD for spell particles
+		fr.tom.magicmod.client.ParticleGovernor.register();
+
+		// Grimoire volley: launch every listed sword locally in the same frame
+		net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking.registerGlobalReceiver(
+			fr.tom.magicmod.network.VolleyLaunchPayload.TYPE,
+			(payload, context) -> {
+				net.minecraft.world.level.Level level = context.player().level();
+				for (int i = 0; i < payload.weaponIds().size(); i++) {
+					if (level.getEntity(payload.weaponIds().get(i)) instanceof fr.tom.magicmod.entity.FloatingWeaponEntity weapon && !weapon.isLaunched()) {
+						weapon.launch(payload.directions().get(i), false);
+					}
+				}
+			}
+		);
 	}
 }
@@ -16,13 +16,26 @@ import net.minecraft.world.item.Items;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import fr.tom.magicmod.entity.FloatingWeaponEntity;
+import fr.tom.magicmod.entity.OrbitKinematics;
+import fr.tom.magicmod.entity.SwordSlots;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
 public class FloatingWeaponRenderer extends EntityRenderer<FloatingWeaponEntity, FloatingWeaponRenderer.FloatingWeaponRenderState> {
     
     private final ItemModelResolver itemModelResolver;
     private final ItemStack swordStack = new ItemStack(Items.DIAMOND_SWORD);
+    private final ItemStackRenderState swordItem = new ItemStackRenderState();
+    private boolean swordItemResolved = false;
+    // Orbit poses per owner entity id, recomputed once per frame
+    private final Int2ObjectOpenHashMap<Ring> rings = new Int2ObjectOpenHashMap<>();
+    private double ringFrame = Double.NaN;
+    // Half size of the rendered sword model plus its vertical offset, in blocks
+    private static final double MODEL_EXTENT = 1.0;
+    // Ticks for a launched sword to slide from its orbit point onto its real position (0.25s)
+    private static final float LAUNCH_DECAY_TICKS = 5.0f;
 
     public FloatingWeaponRenderer(EntityRendererProvider.Context context) {
         super(context);
@@ -35,12 +48,30 @@ public class FloatingWeaponRenderer extends EntityRenderer<FloatingWeaponEntity,
     }
 
     @Override
-    public boolean shouldRender(FloatingWeaponEntity entity, net.minecraft.client.renderer.culling.Frustum frustum, double camX, double camY, double camZ) {
-        // Always render to prevent culling issues caused by visual offset (Orbit smoothing)
-        // intersecting with narrow First-Person frustum while hitbox is lagging.
-        return true;
+    protected AABB getBoundingBoxForCulling(FloatingWeaponEntity entity) {
+        // The sword is drawn away from its hitbox by the orbit / launch-decay offset, and the
+        // model is bigger than the 0.3 hitbox: cull on the box covering both positions.
+        AABB box = entity.getBoundingBox();
+        Entity owner = entity.getOwner();
+        if (!entity.isLaunched()) {
+            // The orbit offset is at most what the owner moved since the last tick
+            if (owner != null) {
+                box = box.minmax(box.move(owner.getX() - owner.xo, owner.getY() - owner.yo, owner.getZ() - owner.zo));
+            }
+        } else {
+            box = box.minmax(box.move(launchOffset(entity)));
+        }
+        return box.inflate(MODEL_EXTENT);
     }
 
+    // Launch-decay offset of the sword before interpolation; set up by the entity's client tick
+    private static Vec3 launchOffset(FloatingWeaponEntity entity) {
+        if (entity.clientLaunchTime == 0) {
+            // Launched since the last tick: still drawn at the last orbit point
+            return entity.clientLastRenderPos != null ? entity.clientLastRenderPos.subtract(entity.position()) : Vec3.ZERO;
+        }
+        return entity.level().getGameTime() - entity.clientLaunchTime < LAUNCH_DECAY_TICKS ? entity.visualLaunchOffset : Vec3.ZERO;
+    }
 
     @Override
     public void extractRenderState(FloatingWeaponEntity entity, FloatingWeaponRenderState state, float partialTick) {
@@ -60,60 +91,37 @@ public class FloatingWeaponRenderer extends EntityRenderer<FloatingWeaponEntity,
         // We need this to maintain continuity when it switches to "Launched"
         state.orbitOffset = Vec3.ZERO;
         
-        // Helper vars for orbit calculation
-        float orbitSpeed = 0.05f; 
-        // Use Global GameTime to match Server-Side logic (prevents desync on entity refesh)
-        float angle = ((entity.level().getGameTime() + partialTick) * orbitSpeed) + (float) (entity.getOrbitIndex() * (Math.PI * 2 / 5.0));
-        
         if (!state.isLaunched) {
             Entity owner = entity.getOwner();
             if (owner instanceof Player) {
-                double ownerX = Mth.lerp(partialTick, owner.xo, owner.getX());
-                double ownerY = Mth.lerp(partialTick, owner.yo, owner.getY());
-                double ownerZ = Mth.lerp(partialTick, owner.zo, owner.getZ());
-                
-                double targetX = ownerX + Math.cos(angle) * 2.0f; 
-                double targetY = ownerY + 1.5 + Math.sin(angle * 3) * 0.3;
-                double targetZ = ownerZ + Math.sin(angle) * 2.0f; 
+                // Shared with the owner's other swords: one owner lerp and ring per frame
+                Ring ring = ringOf(owner, partialTick);
+                int slot = Math.floorMod(entity.getOrbitIndex(), SwordSlots.SLOT_COUNT);
+                double targetX = ring.poses[slot * 3];
+                double targetY = ring.poses[slot * 3 + 1];
+                double targetZ = ring.poses[slot * 3 + 2];
                 
                 double entityX = Mth.lerp(partialTick, entity.xo, entity.getX());
                 double entityY = Mth.lerp(partialTick, entity.yo, entity.getY());
                 double entityZ = Mth.lerp(partialTick, entity.zo, entity.getZ());
                 
-                // Calculate and STORE the visual offset
                 // This difference effectively "snaps" the entity visual to the orbit visual
-                Vec3 currentOffset = new Vec3(targetX - entityX, targetY - entityY, targetZ - entityZ);
-                state.orbitOffset = currentOffset;
-                
-                // Track absolute render position for continuity
-                entity.clientLastRenderPos = new Vec3(targetX, targetY, targetZ);
-                
-                // Keep the entity's cache updated so we have the last known good offset when launch happens
-                entity.visualLaunchOffset = currentOffset;
-                entity.clientLaunchTime = 0; // Reset
+                state.orbitOffset = new Vec3(targetX - entityX, targetY - entityY, targetZ - entityZ);
             }
-        } else {
+        } else if (entity.clientLaunchTime == 0 && entity.clientLastRenderPos != null) {
+             // Launched since the last tick: keep drawing it at its last orbit point
+             double entityX = Mth.lerp(partialTick, entity.xo, entity.getX());
+             double entityY = Mth.lerp(partialTick, entity.yo, entity.getY());
+             double entityZ = Mth.lerp(partialTick, entity.zo, entity.getZ());
+             state.orbitOffset = entity.clientLastRenderPos.subtract(entityX, entityY, entityZ);
+        } else if (entity.clientLaunchTime != 0) {
              // LAUNCHED MODE - DECAY
-             if (entity.clientLaunchTime == 0) {
-                 entity.clientLaunchTime = entity.level().getGameTime();
-                 // CAPTURE CONTINUITY
-                 // We want the visual to start EXACTLY where we last rendered it.
-                 // Last Render Pos (World Space) - Current Entity Physics Pos (World Space) = Offset needed
-                 double entityX = Mth.lerp(partialTick, entity.xo, entity.getX());
-                 double entityY = Mth.lerp(partialTick, entity.yo, entity.getY());
-                 double entityZ = Mth.lerp(partialTick, entity.zo, entity.getZ());
-                 
-                 Vec3 currentPhysicsPos = new Vec3(entityX, entityY, entityZ);
-                 // The offset needed to shift "Physics Pos" back to "Visual Start Pos"
-                 entity.visualLaunchOffset = entity.clientLastRenderPos.subtract(currentPhysicsPos);
-             }
-             
+             // The start offset was captured by the entity's client tick at launch
              long timeSinceLaunch = entity.level().getGameTime() - entity.clientLaunchTime;
-             float decayDuration = 5.0f; // Ticks to decay (0.25s)
              
              // Calculate decay factor (1.0 to 0.0)
              // We add partialTick for smooth decay frame-by-frame
-             float progress = (timeSinceLaunch + partialTick) / decayDuration;
+             float progress = (timeSinceLaunch + partialTick) / LAUNCH_DECAY_TICKS;
              float decay = 1.0f - Mth.clamp(progress, 0.0f, 1.0f);
              
              // Apply decayed offset
@@ -124,8 +132,39 @@ public class FloatingWeaponRenderer extends EntityRenderer<FloatingWeaponEntity,
              }
         }
         
-        // Populate item state
-        this.itemModelResolver.updateForNonLiving(state.item, this.swordStack, ItemDisplayContext.NONE, entity);
+        // Populate item state: the sword model never changes, resolve it once per renderer
+        // (renderers are rebuilt on resource reload)
+        if (!this.swordItemResolved) {
+            this.itemModelResolver.updateForNonLiving(this.swordItem, this.swordStack, ItemDisplayContext.NONE, entity);
+            this.swordItemResolved = true;
+        }
+        state.item = this.swordItem;
+    }
+
+    private Ring ringOf(Entity owner, float partialTick) {
+        double frame = owner.level().getGameTime() + partialTick;
+        if (frame != this.ringFrame) {
+            // New frame: drop rings of owners that were not drawn last frame
+            double previous = this.ringFrame;
+            this.rings.values().removeIf(ring -> ring.frame != previous);
+            this.ringFrame = frame;
+        }
+
+        Ring ring = this.rings.get(owner.getId());
+        if (ring == null) {
+            ring = new Ring();
+            this.rings.put(owner.getId(), ring);
+        }
+        if (ring.frame != frame) {
+            ring.frame = frame;
+            double ownerX = Mth.lerp(partialTick, owner.xo, owner.getX());
+            double ownerY = Mth.lerp(partialTick, owner.yo, owner.getY());
+            double ownerZ = Mth.lerp(partialTick, owner.zo, owner.getZ());
+            
+            // Use Global GameTime to match Server-Side logic (prevents desync on entity refesh)
+            OrbitKinematics.ring(ownerX, ownerY, ownerZ, frame, ring.poses);
+        }
+        return ring;
     }
 
     @Override
@@ -176,8 +215,16 @@ public class FloatingWeaponRenderer extends EntityRenderer<FloatingWeaponEntity,
         poseStack.popPose();
     }
 
+    // Orbit positions of all five slots of one owner for one frame
+    private static final class Ring {
+        double frame = Double.NaN;
+        // x, y, z per slot
+        final double[] poses = new double[SwordSlots.SLOT_COUNT * 3];
+    }
+
     public static class FloatingWeaponRenderState extends EntityRenderState {
-        public final ItemStackRenderState item = new ItemStackRenderState();
+        // Shared, read-only: owned by the renderer
+        public ItemStackRenderState item;
         public float spinRotation;
         public boolean isLaunched;
         public float yRot;
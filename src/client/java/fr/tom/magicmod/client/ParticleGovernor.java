@@ -0,0 +1,66 @@
+package fr.tom.magicmod.client;
+
+import fr.tom.magicmod.fx.SpellParticles;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Client-side budget for spell particles.
+ *
+ * Each client tick (when spell particles are emitted) gets a fixed budget. Effects of the
+ * local player are always drawn while budget remains; other players' effects may only use
+ * part of it and thin out with distance to the camera, down to nothing past {@link #FAR}.
+ */
+public final class ParticleGovernor implements SpellParticles.Governor {
+    // Spell particles per client tick, all casters together
+    private static final int BUDGET = 96;
+    // Share of the budget other casters may use, the rest is kept for the local player
+    private static final int OTHERS_BUDGET = BUDGET * 3 / 4;
+    // Full density up to NEAR blocks from the camera, none beyond FAR
+    private static final double NEAR = 16.0;
+    private static final double FAR = 64.0;
+
+    private final RandomSource random = RandomSource.create();
+    private int spent = 0;
+
+    private ParticleGovernor() {
+    }
+
+    public static void register() {
+        ParticleGovernor governor = new ParticleGovernor();
+        SpellParticles.setGovernor(governor);
+        ClientTickEvents.START_CLIENT_TICK.register(client -> governor.spent = 0);
+    }
+
+    @Override
+    public boolean allow(double x, double y, double z, Entity source) {
+        Minecraft minecraft = Minecraft.getInstance();
+        if (source != null && source == minecraft.player) {
+            return take(BUDGET);
+        }
+
+        if (this.spent >= OTHERS_BUDGET) {
+            return false;
+        }
+        Entity camera = minecraft.getCameraEntity();
+        if (camera != null) {
+            double distance = Math.sqrt(camera.distanceToSqr(x, y, z));
+            double density = Mth.clamp((FAR - distance) / (FAR - NEAR), 0.0, 1.0);
+            if (density < 1.0 && this.random.nextDouble() >= density) {
+                return false;
+            }
+        }
+        return take(OTHERS_BUDGET);
+    }
+
+    private boolean take(int limit) {
+        if (this.spent >= limit) {
+            return false;
+        }
+        this.spent++;
+        return true;
+    }
+}
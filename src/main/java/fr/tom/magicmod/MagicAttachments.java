@@ -0,0 +1,85 @@
+package fr.tom.magicmod;
+
+import com.mojang.serialization.Codec;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.entity.Entity;
+
+import fr.tom.magicmod.minion.MinionOwner;
+
+import java.util.Map;
+import java.util.UUID;
+
+public class MagicAttachments {
+    // Necromancer minion -> owning player (two longs, no string round-trip)
+    public static final AttachmentType<MinionOwner> MINION_OWNER = AttachmentRegistry.create(
+        Identifier.fromNamespaceAndPath(MagicMod.MOD_ID, "minion_owner"),
+        builder -> builder.persistent(MinionOwner.CODEC)
+    );
+
+    // Floating weapon orbit slot (0-4)
+    public static final AttachmentType<Byte> ORBIT_INDEX = AttachmentRegistry.create(
+        Identifier.fromNamespaceAndPath(MagicMod.MOD_ID, "orbit_index"),
+        builder -> builder.persistent(Codec.BYTE)
+    );
+
+    // Floating weapon flight state, packed flags (see FloatingWeaponEntity.STATE_*)
+    public static final AttachmentType<Byte> SWORD_STATE = AttachmentRegistry.create(
+        Identifier.fromNamespaceAndPath(MagicMod.MOD_ID, "sword_state"),
+        builder -> builder.persistent(Codec.BYTE)
+    );
+
+    // World (overworld) -> Blood Pact debt per player, see SoulPactLedger
+    public static final AttachmentType<Map<UUID, Double>> SOUL_PACT_DEBT = AttachmentRegistry.create(
+        Identifier.fromNamespaceAndPath(MagicMod.MOD_ID, "soul_pact_debt"),
+        builder -> builder.persistent(Codec.unboundedMap(UUIDUtil.STRING_CODEC, Codec.DOUBLE))
+    );
+
+    // Scoreboard tag used before attachments existed. Read once on load, then removed.
+    private static final String LEGACY_OWNER_TAG_PREFIX = "NecromancerOwner:";
+
+    /**
+     * Returns the owner of a minion, or null if the entity is not a minion.
+     * Entities saved with the legacy owner tag are migrated to the attachment on first call.
+     */
+    public static UUID getMinionOwner(Entity entity) {
+        MinionOwner owner = entity.getAttached(MINION_OWNER);
+        if (owner == null) {
+            owner = migrateLegacyOwnerTag(entity);
+        }
+        return owner != null ? owner.uuid() : null;
+    }
+
+    public static void setMinionOwner(Entity entity, UUID owner) {
+        entity.setAttached(MINION_OWNER, MinionOwner.of(owner));
+    }
+
+    private static MinionOwner migrateLegacyOwnerTag(Entity entity) {
+        String legacyTag = null;
+        for (String tag : entity.getTags()) {
+            if (tag.startsWith(LEGACY_OWNER_TAG_PREFIX)) {
+                legacyTag = tag;
+                break;
+            }
+        }
+        if (legacyTag == null) {
+            return null;
+        }
+
+        entity.removeTag(legacyTag);
+        try {
+            MinionOwner owner = MinionOwner.of(UUID.fromString(legacyTag.substring(LEGACY_OWNER_TAG_PREFIX.length())));
+            entity.setAttached(MINION_OWNER, owner);
+            return owner;
+        } catch (IllegalArgumentException e) {
+            // Invalid UUID format in tag, drop it
+            return null;
+        }
+    }
+
+    public static void registerAttachments() {
+        MagicMod.LOGGER.info("Registering Attachments for " + MagicMod.MOD_ID);
+    }
+}
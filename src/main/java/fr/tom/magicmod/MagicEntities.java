@@ -9,6 +9,8 @@ import net.minecraft.resources.ResourceKey;
 import net.minecraft.core.registries.Registries;
 
 import fr.tom.magicmod.entity.FloatingWeaponEntity;
+import fr.tom.magicmod.entity.SwordSlots;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
 
 public class MagicEntities {
     public static final ResourceKey<EntityType<?>> FLOATING_WEAPON_KEY = ResourceKey.create(
@@ -21,6 +23,8 @@ public class MagicEntities {
         FLOATING_WEAPON_KEY,
         EntityType.Builder.<FloatingWeaponEntity>of(FloatingWeaponEntity::new, MobCategory.MISC)
             .sized(0.3f, 0.3f)
+            // Range and rate needed by a sword in flight; resting swords narrow both
+            // (FloatingWeaponEntity.broadcastToPlayer / movementSyncInterval)
             .clientTrackingRange(8)
             .updateInterval(1)
             .build(FLOATING_WEAPON_KEY)
@@ -28,5 +32,15 @@ public class MagicEntities {
     
     public static void registerEntities() {
         MagicMod.LOGGER.info("Registering Entities for " + MagicMod.MOD_ID);
+
+        // Restore persisted sword state once, when the entity enters a level,
+        // then take its slot (duplicates from a chunk reload are rejected here)
+        ServerEntityEvents.ENTITY_LOAD.register((entity, level) -> {
+            if (entity instanceof FloatingWeaponEntity weapon) {
+                weapon.restoreState();
+                SwordSlots.get(level).claim(weapon);
+            }
+        });
+        SwordSlots.register();
     }
 }
@@ -0,0 +1,138 @@
+package fr.tom.magicmod.cosmos;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The combined pull of every active gravity well, solved once per level per tick.
+ *
+ * An entity held by several wells gets the sum of their pulls instead of whichever caster
+ * happened to tick last. The positions and velocities of all members are copied into a
+ * snapshot on the server thread, the new velocities are computed from it (on the common
+ * fork-join pool when there are enough members to be worth it), and only the results are
+ * written back on the server thread. Only changes above a threshold are marked for an
+ * immediate velocity sync.
+ */
+final class GravityField {
+    static final double STRENGTH = 0.2;
+    static final double DAMPING = 0.8;
+    // Smaller velocity changes are applied but not pushed to clients as a velocity update
+    private static final double VELOCITY_THRESHOLD = 0.05;
+    private static final double VELOCITY_THRESHOLD_SQR = VELOCITY_THRESHOLD * VELOCITY_THRESHOLD;
+    // Below this many members, splitting the work costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private GravityField() {
+    }
+
+    /**
+     * Applies one tick of pull from the given wells to all of their members.
+     */
+    static void solve(Collection<GravityWell> wells) {
+        Map<Level, List<GravityWell>> byLevel = new IdentityHashMap<>();
+        for (GravityWell well : wells) {
+            if (!well.captured.isEmpty()) {
+                byLevel.computeIfAbsent(well.caster().level(), level -> new ArrayList<>()).add(well);
+            }
+        }
+        for (List<GravityWell> levelWells : byLevel.values()) {
+            solveLevel(levelWells);
+        }
+    }
+
+    private static void solveLevel(List<GravityWell> wells) {
+        Snapshot snapshot = Snapshot.of(wells);
+        int count = snapshot.members.size();
+        double[] velocities = new double[count * 3];
+
+        IntStream indices = IntStream.range(0, count);
+        if (count >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        // Each index only reads the snapshot and writes its own three slots
+        indices.forEach(i -> snapshot.solve(i, velocities));
+
+        for (int i = 0; i < count; i++) {
+            LivingEntity entity = snapshot.members.get(i);
+            int s = i * 3;
+            int previous = i * 6 + 3;
+            double dx = velocities[s] - snapshot.state[previous];
+            double dy = velocities[s + 1] - snapshot.state[previous + 1];
+            double dz = velocities[s + 2] - snapshot.state[previous + 2];
+            // The server always gets the exact pull; clients are only sent the larger changes
+            entity.setDeltaMovement(new Vec3(velocities[s], velocities[s + 1], velocities[s + 2]));
+            if (dx * dx + dy * dy + dz * dz > VELOCITY_THRESHOLD_SQR) {
+                entity.hurtMarked = true;
+            }
+            entity.fallDistance = 0;
+        }
+    }
+
+    /**
+     * Read-only copy of one level's wells and members. {@code state} holds the center
+     * x, y, z and velocity x, y, z of each member (6 values per member, member order),
+     * {@code wellsOf} the indices into {@code centers} of the wells holding it.
+     */
+    private record Snapshot(List<LivingEntity> members, double[] state, int[][] wellsOf, double[] centers) {
+        static Snapshot of(List<GravityWell> wells) {
+            double[] centers = new double[wells.size() * 3];
+            Map<LivingEntity, List<Integer>> holders = new IdentityHashMap<>();
+            List<LivingEntity> members = new ArrayList<>();
+            for (int w = 0; w < wells.size(); w++) {
+                GravityWell well = wells.get(w);
+                Vec3 center = well.center();
+                centers[w * 3] = center.x;
+                centers[w * 3 + 1] = center.y;
+                centers[w * 3 + 2] = center.z;
+                for (LivingEntity entity : well.captured) {
+                    List<Integer> list = holders.get(entity);
+                    if (list == null) {
+                        list = new ArrayList<>(1);
+                        holders.put(entity, list);
+                        members.add(entity);
+                    }
+                    list.add(w);
+                }
+            }
+
+            double[] state = new double[members.size() * 6];
+            int[][] wellsOf = new int[members.size()][];
+            for (int i = 0; i < members.size(); i++) {
+                LivingEntity entity = members.get(i);
+                Vec3 velocity = entity.getDeltaMovement();
+                int s = i * 6;
+                state[s] = entity.getX();
+                state[s + 1] = entity.getY() + entity.getBbHeight() / 2;
+                state[s + 2] = entity.getZ();
+                state[s + 3] = velocity.x;
+                state[s + 4] = velocity.y;
+                state[s + 5] = velocity.z;
+                wellsOf[i] = holders.get(entity).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return new Snapshot(members, state, wellsOf, centers);
+        }
+
+        void solve(int i, double[] out) {
+            int s = i * 6;
+            double vx = this.state[s + 3] * DAMPING;
+            double vy = this.state[s + 4] * DAMPING;
+            double vz = this.state[s + 5] * DAMPING;
+            for (int w : this.wellsOf[i]) {
+                vx += (this.centers[w * 3] - this.state[s]) * STRENGTH;
+                vy += (this.centers[w * 3 + 1] - this.state[s + 1]) * STRENGTH;
+                vz += (this.centers[w * 3 + 2] - this.state[s + 2]) * STRENGTH;
+            }
+            out[i * 3] = vx;
+            out[i * 3 + 1] = vy;
+            out[i * 3 + 2] = vz;
+        }
+    }
+}
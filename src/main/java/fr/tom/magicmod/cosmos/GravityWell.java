@@ -0,0 +1,40 @@
+package fr.tom.magicmod.cosmos;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The gravity well of one Cosmos Staff caster and the entities it holds.
+ *
+ * Members are added by a low-rate scan in front of the caster and stay captured until the
+ * staff is released, they die or unload, or they are pulled further than {@link #LEASH_RANGE}
+ * from the well. See {@link GravityWells}.
+ */
+public final class GravityWell {
+    // Distance from the caster's eyes to the center of the well
+    public static final double REACH = 4.0;
+    // Members further than this from the center break free
+    public static final double LEASH_RANGE = 8.0;
+
+    private final Player caster;
+    final Set<LivingEntity> captured = new LinkedHashSet<>();
+    long lastScan = Long.MIN_VALUE;
+    // Set by every pull, cleared at the end of the server tick
+    boolean pulled;
+
+    GravityWell(Player caster) {
+        this.caster = caster;
+    }
+
+    public Player caster() {
+        return this.caster;
+    }
+
+    public Vec3 center() {
+        return this.caster.getEyePosition().add(this.caster.getLookAngle().scale(REACH));
+    }
+}
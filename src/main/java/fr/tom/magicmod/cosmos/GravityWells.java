@@ -0,0 +1,200 @@
+package fr.tom.magicmod.cosmos;
+
+import fr.tom.magicmod.scheduler.TickScheduler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The Cosmos Staff gravity wells, one per caster holding the staff.
+ *
+ * A well scans its area for new members only every {@link #SCAN_INTERVAL} ticks; in between
+ * it only pulls the entities it already holds. Gravity is turned off once when an entity is
+ * captured and turned back on when the last well holding it lets go, whatever the reason:
+ * release, death, unload, disconnect, leash break, or the caster simply stopping.
+ * The pull itself is applied by {@link GravityField} once all casters have ticked.
+ */
+public final class GravityWells {
+    // Ticks between two scans for new members
+    public static final int SCAN_INTERVAL = 5;
+    // Half-size of the capture area, centered two blocks in front of the caster
+    private static final double CAPTURE_RADIUS = 5.0;
+
+    private static final Map<UUID, GravityWell> WELLS = new HashMap<>();
+    // Entities held by at least one well, with their gravity setting before capture
+    private static final Map<LivingEntity, Hold> HOLDS = new IdentityHashMap<>();
+
+    private GravityWells() {
+    }
+
+    public static void register() {
+        // Players use their items after the levels have ticked, so every caster has had its
+        // turn by the end of the server tick
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (WELLS.isEmpty()) {
+                return;
+            }
+            // A caster who stops using the staff without releasing it (item switch, death)
+            // no longer pulls, so the well is dropped
+            Iterator<GravityWell> iterator = WELLS.values().iterator();
+            while (iterator.hasNext()) {
+                GravityWell well = iterator.next();
+                if (!well.pulled) {
+                    iterator.remove();
+                    releaseAll(well);
+                } else {
+                    well.pulled = false;
+                }
+            }
+            GravityField.solve(WELLS.values());
+        });
+
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, level) -> {
+            if (entity instanceof Player player) {
+                GravityWell well = get(player);
+                if (well != null && well.caster() == player) {
+                    release(player);
+                }
+            }
+            if (entity instanceof LivingEntity living) {
+                drop(living);
+            }
+        });
+
+        // Runs before the player is saved, so the restored gravity flag is what gets saved
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            release(handler.player);
+            drop(handler.player);
+        });
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            WELLS.clear();
+            HOLDS.clear();
+        });
+    }
+
+    public static GravityWell get(Player caster) {
+        return WELLS.get(caster.getUUID());
+    }
+
+    /**
+     * One tick of the caster's well: picks up new members when a scan is due and lets go of
+     * the ones that broke free. The rest are pulled at the end of the tick.
+     */
+    public static void pull(Player caster) {
+        GravityWell well = WELLS.get(caster.getUUID());
+        if (well == null || well.caster() != caster) {
+            if (well != null) {
+                // Respawned or changed dimension while casting
+                releaseAll(well);
+            }
+            well = new GravityWell(caster);
+            WELLS.put(caster.getUUID(), well);
+        }
+        well.pulled = true;
+
+        long now = caster.level().getGameTime();
+        if (well.lastScan == Long.MIN_VALUE || TickScheduler.isDue(caster.getId(), now, SCAN_INTERVAL)) {
+            well.lastScan = now;
+            scan(well);
+        }
+
+        Vec3 center = well.center();
+        double leashSqr = GravityWell.LEASH_RANGE * GravityWell.LEASH_RANGE;
+        Iterator<LivingEntity> iterator = well.captured.iterator();
+        while (iterator.hasNext()) {
+            LivingEntity entity = iterator.next();
+            Vec3 entityPos = entity.position().add(0, entity.getBbHeight() / 2, 0);
+            if (!entity.isAlive() || entity.level() != caster.level() || entityPos.distanceToSqr(center) > leashSqr) {
+                iterator.remove();
+                letGo(entity);
+            }
+        }
+    }
+
+    /**
+     * Ends the caster's well and returns the entities it held, with their gravity restored.
+     */
+    public static List<LivingEntity> release(Player caster) {
+        GravityWell well = WELLS.remove(caster.getUUID());
+        if (well == null) {
+            return List.of();
+        }
+        List<LivingEntity> released = new ArrayList<>(well.captured);
+        releaseAll(well);
+        return released;
+    }
+
+    private static void scan(GravityWell well) {
+        Player caster = well.caster();
+        AABB area = caster.getBoundingBox().inflate(CAPTURE_RADIUS).move(caster.getLookAngle().scale(2.0));
+        for (LivingEntity entity : caster.level().getEntitiesOfClass(LivingEntity.class, area,
+                e -> e != caster && e.isAlive() && !e.isSpectator())) {
+            if (well.captured.add(entity)) {
+                hold(entity);
+            }
+        }
+    }
+
+    private static void releaseAll(GravityWell well) {
+        for (LivingEntity entity : well.captured) {
+            letGo(entity);
+        }
+        well.captured.clear();
+    }
+
+    // Removes the entity from every well, e.g. because it is leaving the level
+    private static void drop(LivingEntity entity) {
+        if (!HOLDS.containsKey(entity)) {
+            return;
+        }
+        for (GravityWell well : WELLS.values()) {
+            if (well.captured.remove(entity)) {
+                letGo(entity);
+            }
+        }
+    }
+
+    private static void hold(LivingEntity entity) {
+        Hold hold = HOLDS.get(entity);
+        if (hold == null) {
+            HOLDS.put(entity, new Hold(entity.isNoGravity()));
+            entity.setNoGravity(true);
+        } else {
+            hold.wells++;
+        }
+    }
+
+    private static void letGo(LivingEntity entity) {
+        Hold hold = HOLDS.get(entity);
+        if (hold == null) {
+            return;
+        }
+        if (--hold.wells == 0) {
+            HOLDS.remove(entity);
+            entity.setNoGravity(hold.hadNoGravity);
+        }
+    }
+
+    private static final class Hold {
+        final boolean hadNoGravity;
+        int wells = 1;
+
+        Hold(boolean hadNoGravity) {
+            this.hadNoGravity = hadNoGravity;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package fr.tom.magicmod.entity;
 
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.world.entity.Entity;
@@ -17,15 +19,21 @@ import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.EntityHitResult;
 import net.minecraft.world.phys.Vec3;
 
-import java.util.List;
+import fr.tom.magicmod.MagicAttachments;
+import fr.tom.magicmod.fx.SpellParticles;
 
 public class FloatingWeaponEntity extends AbstractArrow {
     // Projectile handles owner
     private int orbitIndex = 0;
-    private float orbitAngle = 0;
-    private static final float ORBIT_RADIUS = 2.0f;
-    private static final float ORBIT_SPEED = 0.05f; // Adjusted speed
+    // Orbit point scratch (x, y, z) filled by OrbitKinematics, see moveToOrbit and the return logic
+    private final double[] orbitTarget = new double[3];
     private static final double DAMAGE = 6.0;
+    // Blocks per tick on the way back to the owner
+    static final double RETURN_SPEED = 0.8;
+
+    // Tracking policy: resting swords (orbiting or stuck) are only sent to nearby players
+    private static final double RESTING_VIEW_RANGE = 32.0;
+    private static final int STUCK_SYNC_INTERVAL = 20;
 
     // Custom Synched Data for "Launched" state (AbstractArrow doesn't have a specific "launched" flag exposed easily for client rendering sync if we want to separate Orbit vs Projectile mode cleanly, though we could use shotFromCrossbow or similar, existing custom flag is safer)
     private static final net.minecraft.network.syncher.EntityDataAccessor<Boolean> LAUNCHED = 
@@ -35,12 +43,17 @@ public class FloatingWeaponEntity extends AbstractArrow {
         SynchedEntityData.defineId(FloatingWeaponEntity.class, net.minecraft.network.syncher.EntityDataSerializers.INT);
     private static final net.minecraft.network.syncher.EntityDataAccessor<Boolean> RETURNING = 
         SynchedEntityData.defineId(FloatingWeaponEntity.class, net.minecraft.network.syncher.EntityDataSerializers.BOOLEAN);
+
+    // Packed flight state persisted in the SWORD_STATE attachment
+    public static final byte STATE_LAUNCHED = 1;
+    public static final byte STATE_RETURNING = 1 << 1;
     
-    // Client-side Visuals for smooth launch transition
+    // Client-side Visuals for smooth launch transition. Stamped by the client tick, whether
+    // or not the sword is being rendered; the renderer only reads them.
     public Vec3 visualLaunchOffset = Vec3.ZERO;
     public long clientLaunchTime = 0;
-    // visual continuity tracking
-    public Vec3 clientLastRenderPos = Vec3.ZERO;
+    // Last orbit point, where the launch-decay starts from; null until the sword has orbited
+    public Vec3 clientLastRenderPos = null;
 
     public FloatingWeaponEntity(EntityType<? extends AbstractArrow> type, Level level) {
         super(type, level);
@@ -51,7 +64,14 @@ public class FloatingWeaponEntity extends AbstractArrow {
 
     // Server-side launch tracking
     private long serverLaunchTime = 0;
+    // Owner's sneak state last tick, recall fires on a new press. Starts pressed so a sword
+    // loaded mid-flight also waits for one.
+    private boolean ownerWasSneaking = true;
     private int groundDuration = 0;
+    // Owner holds the Grimoire; pushed by GrimoireEquipState, seeded when the slot is claimed
+    private boolean grimoireEquipped = false;
+    // Entities already damaged during the current return flight
+    private final IntOpenHashSet returnHits = new IntOpenHashSet();
 
     @Override
     protected ItemStack getDefaultPickupItem() {
@@ -66,11 +86,9 @@ public class FloatingWeaponEntity extends AbstractArrow {
     
     public void setOrbitIndex(int index) {
         this.entityData.set(ORBIT_INDEX, index);
-        // Persistence via Tags
+        // Persistence via Attachment
         if (!this.level().isClientSide()) {
-            // Remove old tags
-            this.getTags().removeIf(tag -> tag.startsWith("OrbitIndex:"));
-            this.addTag("OrbitIndex:" + index);
+            this.setAttached(MagicAttachments.ORBIT_INDEX, (byte) index);
         }
     }
     
@@ -79,10 +97,20 @@ public class FloatingWeaponEntity extends AbstractArrow {
     }
 
     public void launch(Vec3 direction) {
+        launch(direction, true);
+    }
+
+    /**
+     * Fires the sword along {@code direction}. A volley plays one sound for all its swords,
+     * so they launch silently. Also run client-side for volleys (see VolleyLaunchPayload).
+     */
+    public void launch(Vec3 direction, boolean playSound) {
         this.entityData.set(LAUNCHED, true);
         if (!this.level().isClientSide()) {
-            this.addTag("Launched");
+            this.saveState();
             this.serverLaunchTime = this.level().getGameTime();
+            // A volley is cast while sneaking: recall needs a new press after the launch
+            this.ownerWasSneaking = this.getOwner() instanceof Player player && player.isShiftKeyDown();
         }
         // this.setNoGravity(false); // Disable gravity enable - keep it noGravity=true for straight flight
         
@@ -98,7 +126,9 @@ public class FloatingWeaponEntity extends AbstractArrow {
         this.xRotO = this.getXRot();
 
         // Play launch sound with variable pitch
-        this.playSound(SoundEvents.TRIDENT_THROW.value(), 1.0F, 0.9F + this.random.nextFloat() * 0.2F);
+        if (playSound) {
+            this.playSound(SoundEvents.TRIDENT_THROW.value(), 1.0F, 0.9F + this.random.nextFloat() * 0.2F);
+        }
     }
 
     public boolean isLaunched() {
@@ -107,15 +137,160 @@ public class FloatingWeaponEntity extends AbstractArrow {
     
     public void setReturning(boolean returning) {
         this.entityData.set(RETURNING, returning);
+        if (!this.level().isClientSide()) {
+            this.saveState();
+        }
         if (returning) {
             this.setNoGravity(true);
+            this.returnHits.clear();
         }
     }
 
+    boolean hasHitOnReturn(Entity entity) {
+        return this.returnHits.contains(entity.getId());
+    }
+
     public boolean isReturning() {
         return this.entityData.get(RETURNING);
     }
 
+    /**
+     * Orbiting around the owner: neither launched nor on the way back. The position is
+     * derived from synced data only, so no movement needs to be sent in this state.
+     */
+    public boolean isOrbiting() {
+        return !isLaunched() && !isReturning();
+    }
+
+    /**
+     * Ticks between movement updates sent to clients for the current state, 0 for none.
+     * Orbit positions are predicted client-side, a stuck sword barely moves, and only a
+     * sword in flight needs every tick. Applied by ServerEntityMixin.
+     */
+    public int movementSyncInterval() {
+        if (isOrbiting()) {
+            return 0;
+        }
+        if (isStuck()) {
+            return STUCK_SYNC_INTERVAL;
+        }
+        return 1;
+    }
+
+    @Override
+    public boolean broadcastToPlayer(ServerPlayer player) {
+        // Flying swords use the full tracking range; resting ones only matter close by
+        boolean resting = isOrbiting() || isStuck();
+        if (resting && player != this.getOwner() && player.distanceToSqr(this) > RESTING_VIEW_RANGE * RESTING_VIEW_RANGE) {
+            return false;
+        }
+        return super.broadcastToPlayer(player);
+    }
+
+    public void setGrimoireEquipped(boolean equipped) {
+        this.grimoireEquipped = equipped;
+    }
+
+    /**
+     * Called once when the owner starts or stops holding the Grimoire. Resting swords
+     * leave with it; swords in flight finish their flight and check again on landing.
+     */
+    public void onGrimoireEquipChanged(boolean equipped) {
+        this.grimoireEquipped = equipped;
+        if (!equipped && (isOrbiting() || isStuck())) {
+            this.disappear();
+        }
+    }
+
+    private boolean isStuck() {
+        return isLaunched() && !isReturning() && this.isInGround();
+    }
+
+    private void moveToOrbit(Entity owner) {
+        computeOrbitTarget(owner);
+        this.setPos(this.orbitTarget[0], this.orbitTarget[1], this.orbitTarget[2]);
+        this.setDeltaMovement(Vec3.ZERO);
+    }
+
+    private void computeOrbitTarget(Entity owner) {
+        // Global GameTime on both sides, so client prediction lands on the server's point
+        OrbitKinematics.slot(owner.getX(), owner.getY(), owner.getZ(), this.level().getGameTime(), getOrbitIndex(), this.orbitTarget, 0);
+    }
+
+    /**
+     * Clears everything a flight leaves behind on the arrow (stuck block, shake, velocity,
+     * launch timers) so the sword can orbit again as if freshly summoned.
+     */
+    private void resetToOrbit() {
+        this.entityData.set(LAUNCHED, false);
+        this.entityData.set(RETURNING, false);
+        this.saveState();
+
+        this.setInGround(false);
+        this.shakeTime = 0;
+        this.pickup = AbstractArrow.Pickup.DISALLOWED;
+        this.setDeltaMovement(Vec3.ZERO);
+        this.setNoGravity(true);
+        this.serverLaunchTime = 0;
+        this.groundDuration = 0;
+        this.returnHits.clear();
+    }
+
+    private void saveState() {
+        byte state = 0;
+        if (isLaunched()) state |= STATE_LAUNCHED;
+        if (isReturning()) state |= STATE_RETURNING;
+        this.setAttached(MagicAttachments.SWORD_STATE, state);
+    }
+
+    /**
+     * Copies the persisted attachments back into synched data. Called once when the
+     * entity is loaded into a server level (see MagicEntities), never from tick().
+     */
+    public void restoreState() {
+        migrateLegacyTags();
+
+        Byte index = this.getAttached(MagicAttachments.ORBIT_INDEX);
+        if (index != null) {
+            this.entityData.set(ORBIT_INDEX, index.intValue());
+        }
+        Byte state = this.getAttached(MagicAttachments.SWORD_STATE);
+        if (state != null) {
+            this.entityData.set(LAUNCHED, (state & STATE_LAUNCHED) != 0);
+            this.entityData.set(RETURNING, (state & STATE_RETURNING) != 0);
+        }
+    }
+
+    // One-time conversion of the scoreboard tags used by older versions
+    private void migrateLegacyTags() {
+        if (this.getTags().isEmpty()) {
+            return;
+        }
+
+        String orbitTag = null;
+        for (String tag : this.getTags()) {
+            if (tag.startsWith("OrbitIndex:")) {
+                orbitTag = tag;
+                break;
+            }
+        }
+        if (orbitTag != null) {
+            this.removeTag(orbitTag);
+            try {
+                this.setAttached(MagicAttachments.ORBIT_INDEX, (byte) Integer.parseInt(orbitTag.substring("OrbitIndex:".length())));
+            } catch (NumberFormatException e) {
+                // Ignore malformed tag
+            }
+        }
+
+        byte state = 0;
+        if (this.removeTag("Launched")) state |= STATE_LAUNCHED;
+        if (this.removeTag("Returning")) state |= STATE_RETURNING;
+        if (state != 0) {
+            this.setAttached(MagicAttachments.SWORD_STATE, state);
+        }
+    }
+
     private boolean clientLaunched = false;
 
     @Override
@@ -151,26 +326,6 @@ public class FloatingWeaponEntity extends AbstractArrow {
 
     @Override
     public void tick() {
-        if (!this.level().isClientSide() && this.tickCount == 0) {
-            // Restore state from Tags (Persistence)
-            if (this.getTags().contains("Launched")) {
-                this.entityData.set(LAUNCHED, true);
-            }
-            if (this.getTags().contains("Returning")) {
-                this.entityData.set(RETURNING, true);
-            }
-            for (String tag : this.getTags()) {
-                if (tag.startsWith("OrbitIndex:")) {
-                    try {
-                        int index = Integer.parseInt(tag.substring("OrbitIndex:".length()));
-                        this.entityData.set(ORBIT_INDEX, index);
-                    } catch (NumberFormatException e) {
-                        // Ignore malformed tag
-                    }
-                }
-            }
-        }
-
         // --- RETURNING LOGIC ---
         if (isReturning()) {
             this.setNoGravity(true);
@@ -182,52 +337,37 @@ public class FloatingWeaponEntity extends AbstractArrow {
                 return;
             }
 
-            // Calculate target position (Orbit or just Player)
-            long time = this.level().getGameTime();
-            int index = getOrbitIndex();
-            float currentAngle = (time * ORBIT_SPEED) + (float) (index * (Math.PI * 2 / 5.0));
-            double targetX = owner.getX() + Math.cos(currentAngle) * ORBIT_RADIUS;
-            // Target slightly higher to avoid hitting ground while returning
-            double targetY = owner.getY() + 1.5 + Math.sin(currentAngle * 3) * 0.3; 
-            double targetZ = owner.getZ() + Math.sin(currentAngle) * ORBIT_RADIUS;
+            // Calculate target position (this slot's orbit point)
+            computeOrbitTarget(owner);
+            double targetX = this.orbitTarget[0];
+            double targetY = this.orbitTarget[1];
+            double targetZ = this.orbitTarget[2];
             
-            Vec3 targetPos = new Vec3(targetX, targetY, targetZ);
             Vec3 currentPos = this.position();
-            Vec3 dir = targetPos.subtract(currentPos);
+            Vec3 dir = new Vec3(targetX - currentPos.x, targetY - currentPos.y, targetZ - currentPos.z);
             double distSqr = dir.lengthSqr();
             
             // Speed up as we get closer or just constant fast speed? 
             // Constant speed + ease out looks good.
-            double speed = 0.8; 
             if (distSqr < 1.0) {
                 // ARRIVED
                 this.setPos(targetX, targetY, targetZ);
                 if (!this.level().isClientSide()) {
-                    // Respawn as fresh entity to clear ALL AbstractArrow state (inGround, shake, etc)
-                    FloatingWeaponEntity replacement = new FloatingWeaponEntity(fr.tom.magicmod.MagicEntities.FLOATING_WEAPON, this.level());
-                    replacement.setPos(targetX, targetY, targetZ);
-                    replacement.setOwner((Player) owner);
-                    replacement.setOrbitIndex(index);
-                    // replacement is fresh, so LAUNCHED/RETURNING are false by default
-                    
-                    this.level().addFreshEntity(replacement);
+                    // Same entity goes back into orbit, no remove/add packets or new id
+                    this.resetToOrbit();
                     // Use TRIDENT_HIT for instant metallic "catch" sound with variable pitch
                     this.playSound(SoundEvents.TRIDENT_HIT, 1.0F, 0.9F + this.random.nextFloat() * 0.2F);
-                    this.discard(); // destroy old one
                 }
             } else {
-                Vec3 move = dir.normalize().scale(speed);
+                Vec3 move = dir.normalize().scale(RETURN_SPEED);
                 
                 // Return Damage Logic: Check for collisions along the path
+                // (one broadphase per owner, each entity is hit at most once per return)
                 if (!this.level().isClientSide()) {
-                    net.minecraft.world.phys.EntityHitResult hit = net.minecraft.world.entity.projectile.ProjectileUtil.getEntityHitResult(
-                        this.level(), this, currentPos, currentPos.add(move), 
-                        this.getBoundingBox().expandTowards(move).inflate(1.0), 
-                        this::canHitEntity
-                    );
+                    Entity target = SwordSlots.get((ServerLevel) this.level()).returnHit(this, currentPos, currentPos.add(move));
                     
-                    if (hit != null) {
-                        Entity target = hit.getEntity();
+                    if (target != null) {
+                        this.returnHits.add(target.getId());
                         Entity swordOwner = this.getOwner();
                         // Apply damage but DO NOT stop the sword
                         target.hurt(this.damageSources().indirectMagic(this, swordOwner != null ? swordOwner : this), (float)DAMAGE);
@@ -251,36 +391,33 @@ public class FloatingWeaponEntity extends AbstractArrow {
         if (!isLaunched()) {
             this.baseTick(); 
             
-            // Server-Side Authority only.
-            // Client relies on Renderer for smooth interpolation.
+            Entity owner = this.getOwner();
             if (!this.level().isClientSide()) {
-                Entity owner = this.getOwner();
-                if (owner instanceof Player player && owner.isAlive()) {
-                    // DESPAWN LOGIC: If player is not holding the Grimoire, disappear.
-                    boolean holdingGrimoire = player.getMainHandItem().is(fr.tom.magicmod.MagicItems.SPECTRAL_GRIMOIRE) 
-                                           || player.getOffhandItem().is(fr.tom.magicmod.MagicItems.SPECTRAL_GRIMOIRE);
-                    
-                    if (!holdingGrimoire) {
-                        this.disappear();
-                        return;
-                    }
-
-                    long time = this.level().getGameTime();
-                    int index = getOrbitIndex();
-                    
-                    float currentAngle = (time * ORBIT_SPEED) + (float) (index * (Math.PI * 2 / 5.0));
-                    
-                    double x = owner.getX() + Math.cos(currentAngle) * ORBIT_RADIUS;
-                    double y = owner.getY() + 1.5 + Math.sin(currentAngle * 3) * 0.3;
-                    double z = owner.getZ() + Math.sin(currentAngle) * ORBIT_RADIUS;
-                    
-                    this.setPos(x, y, z);
-                    this.setDeltaMovement(Vec3.ZERO);
-                } else if (owner == null) {
+                // DESPAWN LOGIC: If player is not holding the Grimoire, disappear.
+                if (owner == null || (owner.isAlive() && !grimoireEquipped)) {
                      this.disappear();
+                     return;
+                }
+            }
+
+            // ORBIT MODE: both sides place the sword from owner, slot and game time.
+            // The server sends no movement packets meanwhile (see ServerEntityMixin), so the
+            // client predicts the same position instead of waiting for one.
+            if (owner instanceof Player && owner.isAlive()) {
+                moveToOrbit(owner);
+                if (this.level().isClientSide()) {
+                    this.clientLastRenderPos = this.position();
+                    this.visualLaunchOffset = Vec3.ZERO;
+                    this.clientLaunchTime = 0;
                 }
             }
         } else {
+            if (this.level().isClientSide() && this.clientLaunchTime == 0) {
+                // First client tick of the flight, launch packets already applied: the model
+                // starts from the last orbit point and decays onto the real position
+                this.clientLaunchTime = this.level().getGameTime();
+                this.visualLaunchOffset = this.clientLastRenderPos != null ? this.clientLastRenderPos.subtract(this.position()) : Vec3.ZERO;
+            }
             super.tick();
             
             if (!this.level().isClientSide()) {
@@ -288,11 +425,11 @@ public class FloatingWeaponEntity extends AbstractArrow {
 
                 // MANUAL RETURN TRIGGER
                 if (owner instanceof Player player) {
-                     boolean holdingGrimoire = player.getMainHandItem().is(fr.tom.magicmod.MagicItems.SPECTRAL_GRIMOIRE) 
-                                            || player.getOffhandItem().is(fr.tom.magicmod.MagicItems.SPECTRAL_GRIMOIRE);
-                     
-                     // If holding grimoire AND sneaking -> RETURN
-                     if (holdingGrimoire && player.isShiftKeyDown()) {
+                     boolean sneaking = player.isShiftKeyDown();
+                     boolean pressed = sneaking && !this.ownerWasSneaking;
+                     this.ownerWasSneaking = sneaking;
+                     // If holding grimoire AND sneak pressed since launch -> RETURN
+                     if (grimoireEquipped && pressed) {
                          this.setReturning(true);
                          return; // switch to return logic next tick
                      }
@@ -317,13 +454,10 @@ public class FloatingWeaponEntity extends AbstractArrow {
                     
                     // User Request: Launched swords stuck in ground should vanish if Grimoire is un-equipped.
                     // Also trigger automatic return after long delay?
-                    if (owner instanceof Player player) {
-                        boolean holdingGrimoire = player.getMainHandItem().is(fr.tom.magicmod.MagicItems.SPECTRAL_GRIMOIRE) 
-                                               || player.getOffhandItem().is(fr.tom.magicmod.MagicItems.SPECTRAL_GRIMOIRE);
-                        if (!holdingGrimoire) {
-                            this.disappear();
-                            return;
-                        }
+                    // (Un-equipping while already stuck is handled by onGrimoireEquipChanged)
+                    if (owner instanceof Player && !grimoireEquipped) {
+                        this.disappear();
+                        return;
                     }
 
                     // Auto-return if stuck for 10 seconds?
@@ -337,40 +471,20 @@ public class FloatingWeaponEntity extends AbstractArrow {
             
             if (this.level().isClientSide() && this.getDeltaMovement().lengthSqr() > 0.1) {
                  Vec3 movement = this.getDeltaMovement();
-                 level().addParticle(ParticleTypes.SOUL_FIRE_FLAME,
+                 SpellParticles.add(this.level(), ParticleTypes.SOUL_FIRE_FLAME, this.getOwner(),
                         this.getX() - movement.x * 0.5, 
                         this.getY() + 0.5 - movement.y * 0.5, 
                         this.getZ() - movement.z * 0.5,
                         0, 0, 0);
             }
         }
-
-        
-        // Self-Correction: Check for duplicates (same owner, same index)
-        if (!this.level().isClientSide() && this.tickCount % 100 == 0) {
-            checkDuplicates();
-        }
     }
-    
-    private void checkDuplicates() {
-        if (this.getOwner() == null) return;
-        
-        List<FloatingWeaponEntity> nearby = this.level().getEntitiesOfClass(FloatingWeaponEntity.class, 
-            this.getBoundingBox().inflate(100.0),
-            e -> e != this && e.isAlive() && e.getOwner() != null && e.getOwner().equals(this.getOwner())
-        );
-        
-        for (FloatingWeaponEntity other : nearby) {
-            // If another sword has the same Orbit Index as me...
-            if (other.getOrbitIndex() == this.getOrbitIndex()) {
-                // Conflict!
-                // Rule: Keep the NEWER one (Higher ID). Discard the OLDER one.
-                if (this.getId() < other.getId()) {
-                    this.discard();
-                    return; // I am dead.
-                }
-            }
-        }
+
+    @Override
+    protected void tickDespawn() {
+        // The sword is reused across flights and manages its own lifetime (flight and ground
+        // timeouts, equip state), so the arrow's 1200 tick despawn counter, which would keep
+        // adding up over every stuck landing, must never discard it.
     }
 
     @Override
@@ -430,10 +544,10 @@ public class FloatingWeaponEntity extends AbstractArrow {
         builder.define(ORBIT_INDEX, 0); // Default index 0
     }
     
-    // NBT Persistence handled via Scoreboard Tags in tick()
+    // NBT Persistence handled via Data Attachments (see MagicAttachments)
     /* 
      * NBT methods omitted due to mapping/wrapper issues.
-     * State is saved via entity.getTags() automatically by vanilla.
+     * Attachments are saved with the entity automatically by Fabric API.
      */
     private void disappear() {
         if (!this.level().isClientSide()) {
@@ -0,0 +1,62 @@
+package fr.tom.magicmod.entity;
+
+/**
+ * The orbit of the Grimoire swords around their owner, shared by the server (orbit and
+ * return target) and the client (prediction and rendering) so both place a sword on the
+ * exact same point.
+ *
+ * Angles come from a precomputed sine table indexed by phase, and results are written into
+ * caller-owned arrays, so evaluating an orbit allocates nothing.
+ */
+public final class OrbitKinematics {
+    // Radians per tick
+    public static final double SPEED = 0.05;
+    public static final double RADIUS = 2.0;
+    // Height of the ring above the owner's feet, and amplitude of the vertical bob
+    public static final double HEIGHT = 1.5;
+    public static final double BOB = 0.3;
+
+    // One full turn in table steps
+    static final int TABLE_SIZE = 1 << 12;
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+    private static final int QUARTER_TURN = TABLE_SIZE / 4;
+    private static final double STEPS_PER_TICK = SPEED / (Math.PI * 2) * TABLE_SIZE;
+    private static final double STEPS_PER_SLOT = (double) TABLE_SIZE / SwordSlots.SLOT_COUNT;
+
+    private static final double[] SIN = new double[TABLE_SIZE];
+
+    static {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            SIN[i] = Math.sin(i * (Math.PI * 2) / TABLE_SIZE);
+        }
+    }
+
+    private OrbitKinematics() {
+    }
+
+    /**
+     * Writes the orbit point of {@code slot} at {@code time} (ticks, may include the partial
+     * tick) into {@code out[offset..offset+2]} as x, y, z.
+     */
+    public static void slot(double ownerX, double ownerY, double ownerZ, double time, int slot, double[] out, int offset) {
+        int phase = phase(time, slot);
+        out[offset] = ownerX + SIN[(phase + QUARTER_TURN) & TABLE_MASK] * RADIUS;
+        out[offset + 1] = ownerY + HEIGHT + SIN[(phase * 3) & TABLE_MASK] * BOB;
+        out[offset + 2] = ownerZ + SIN[phase & TABLE_MASK] * RADIUS;
+    }
+
+    /**
+     * Writes the orbit points of every slot into {@code out}, x, y, z per slot in slot order
+     * ({@code out} holds at least {@code SLOT_COUNT * 3} values).
+     */
+    public static void ring(double ownerX, double ownerY, double ownerZ, double time, double[] out) {
+        for (int slot = 0; slot < SwordSlots.SLOT_COUNT; slot++) {
+            slot(ownerX, ownerY, ownerZ, time, slot, out, slot * 3);
+        }
+    }
+
+    // Table index of the slot's angle; only the low bits matter, so overflow is harmless
+    private static int phase(double time, int slot) {
+        return (int) (long) Math.floor(time * STEPS_PER_TICK + slot * STEPS_PER_SLOT + 0.5);
+    }
+}
@@ -0,0 +1,104 @@
+package fr.tom.magicmod.entity;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Collision broadphase shared by the returning swords of one owner.
+ *
+ * The first returning sword to ask in a tick runs the entity queries for every returning
+ * sword's reach for that tick, one query per group of nearby swords; each sword then only
+ * clips its own segment against that candidate list. Owned by {@link SwordSlots}, one per owner.
+ */
+final class ReturnSweep {
+    // Same margin ProjectileUtil adds around candidate boxes
+    private static final double HIT_MARGIN = 0.3;
+    // Widest a group of swords sharing one query may get, per axis (same cap as ThreatGrid)
+    private static final double MAX_CLUSTER_EXTENT = 32.0;
+
+    private long builtAt = Long.MIN_VALUE;
+    private List<Entity> candidates = List.of();
+
+    /**
+     * Closest entity crossed by the sword's segment this tick that it has not hit yet
+     * during this return, or null.
+     */
+    Entity firstHit(FloatingWeaponEntity sword, FloatingWeaponEntity[] ownerSwords, Vec3 from, Vec3 to) {
+        long now = sword.level().getGameTime();
+        if (now != this.builtAt) {
+            this.builtAt = now;
+            this.candidates = gather(sword, ownerSwords);
+        }
+
+        Entity closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (Entity candidate : this.candidates) {
+            // A sword earlier in the tick may already have killed it
+            if (!candidate.isAlive() || sword.hasHitOnReturn(candidate) || !sword.canHitEntity(candidate)) {
+                continue;
+            }
+            Optional<Vec3> clip = candidate.getBoundingBox().inflate(HIT_MARGIN).clip(from, to);
+            if (clip.isPresent()) {
+                double distance = from.distanceToSqr(clip.get());
+                if (distance < closestDistance) {
+                    closest = candidate;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return closest;
+    }
+
+    private static List<Entity> gather(FloatingWeaponEntity sword, FloatingWeaponEntity[] ownerSwords) {
+        // Every returning sword moves at most RETURN_SPEED this tick, in any direction.
+        // Swords close together share one box; swords coming back from opposite sides of
+        // the owner keep their own instead of one box spanning everything in between.
+        List<AABB> clusters = new ArrayList<>();
+        for (FloatingWeaponEntity other : ownerSwords) {
+            if (other == null || !other.isReturning()) {
+                continue;
+            }
+            AABB box = other.getBoundingBox().inflate(FloatingWeaponEntity.RETURN_SPEED + 1.0);
+            boolean merged = false;
+            for (int i = 0; i < clusters.size(); i++) {
+                AABB grown = clusters.get(i).minmax(box);
+                if (grown.getXsize() <= MAX_CLUSTER_EXTENT && grown.getYsize() <= MAX_CLUSTER_EXTENT && grown.getZsize() <= MAX_CLUSTER_EXTENT) {
+                    clusters.set(i, grown);
+                    merged = true;
+                    break;
+                }
+            }
+            if (!merged) {
+                clusters.add(box);
+            }
+        }
+
+        if (clusters.size() == 1) {
+            return query(sword, clusters.get(0));
+        }
+        List<Entity> candidates = new ArrayList<>();
+        Set<Entity> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AABB cluster : clusters) {
+            for (Entity candidate : query(sword, cluster)) {
+                // Cluster boxes may overlap
+                if (seen.add(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static List<Entity> query(FloatingWeaponEntity sword, AABB area) {
+        return sword.level().getEntities((Entity) null, area,
+            e -> e.isAlive() && !e.isSpectator() && !(e instanceof FloatingWeaponEntity));
+    }
+}
@@ -0,0 +1,160 @@
+package fr.tom.magicmod.entity;
+
+import fr.tom.magicmod.item.GrimoireEquipState;
+import fr.tom.magicmod.scheduler.TickScheduler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-level table of the floating weapons of each Grimoire owner, one entry per orbit slot.
+ *
+ * This is the authority on which sword holds which slot: a sword claims its slot when it
+ * enters the level (spawn or chunk load) and releases it when it leaves (discard, death or
+ * unload). A second sword claiming a taken slot is rejected and removed, so duplicates
+ * left behind by a chunk reload are resolved at load time instead of by periodic scans.
+ */
+public final class SwordSlots {
+    public static final int SLOT_COUNT = 5;
+
+    private static final Map<ServerLevel, SwordSlots> TABLES = new IdentityHashMap<>();
+
+    private final Map<UUID, FloatingWeaponEntity[]> slotsByOwner = new HashMap<>();
+    // Owner at claim time: the owner entity may be gone by the time the sword unloads
+    private final Map<FloatingWeaponEntity, UUID> ownerByWeapon = new IdentityHashMap<>();
+    private final Map<UUID, ReturnSweep> sweepsByOwner = new HashMap<>();
+
+    private SwordSlots() {
+    }
+
+    public static SwordSlots get(ServerLevel level) {
+        return TABLES.computeIfAbsent(level, l -> new SwordSlots());
+    }
+
+    public static void register() {
+        // Loading is handled with state restore in MagicEntities, release happens here
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, level) -> {
+            if (entity instanceof FloatingWeaponEntity weapon) {
+                SwordSlots table = TABLES.get(level);
+                if (table != null) {
+                    table.release(weapon);
+                }
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, level) -> TABLES.remove(level));
+    }
+
+    /**
+     * Records the sword in its owner's slot. Returns false, and schedules the sword for
+     * removal, if it has no owner in this level, an invalid slot, or the slot is taken.
+     */
+    public boolean claim(FloatingWeaponEntity weapon) {
+        Entity owner = weapon.getOwner();
+        int slot = weapon.getOrbitIndex();
+        if (owner == null || slot < 0 || slot >= SLOT_COUNT) {
+            // Orphans vanish on their own first tick
+            return false;
+        }
+
+        FloatingWeaponEntity[] slots = this.slotsByOwner.computeIfAbsent(owner.getUUID(), uuid -> new FloatingWeaponEntity[SLOT_COUNT]);
+        FloatingWeaponEntity holder = slots[slot];
+        if (holder != null && holder != weapon && !holder.isRemoved()) {
+            // Duplicate index: the sword already in the table wins. Removal is deferred
+            // because this runs while the level is still adding the entity.
+            TickScheduler.submit(TickScheduler.SWORD_HOUSEKEEPING, weapon.getId(), weapon::discard);
+            return false;
+        }
+        slots[slot] = weapon;
+        this.ownerByWeapon.put(weapon, owner.getUUID());
+        // Later changes are pushed by GrimoireEquipState
+        weapon.setGrimoireEquipped(GrimoireEquipState.isEquipped(owner.getUUID()));
+        return true;
+    }
+
+    public void release(FloatingWeaponEntity weapon) {
+        UUID owner = this.ownerByWeapon.remove(weapon);
+        if (owner == null) {
+            return;
+        }
+        FloatingWeaponEntity[] slots = this.slotsByOwner.get(owner);
+        int slot = weapon.getOrbitIndex();
+        if (slots[slot] == weapon) {
+            slots[slot] = null;
+        }
+        for (FloatingWeaponEntity other : slots) {
+            if (other != null) {
+                return;
+            }
+        }
+        this.slotsByOwner.remove(owner);
+        this.sweepsByOwner.remove(owner);
+    }
+
+    /**
+     * Lowest free slot of this owner, or -1 when all are taken.
+     */
+    public int freeSlot(UUID owner) {
+        FloatingWeaponEntity[] slots = this.slotsByOwner.get(owner);
+        if (slots == null) {
+            return 0;
+        }
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            if (slots[i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Entity the returning sword runs into on its way from {@code from} to {@code to}, using
+     * the broadphase shared by all returning swords of its owner. Null if none.
+     */
+    public Entity returnHit(FloatingWeaponEntity weapon, Vec3 from, Vec3 to) {
+        UUID owner = this.ownerByWeapon.get(weapon);
+        if (owner == null) {
+            return null;
+        }
+        ReturnSweep sweep = this.sweepsByOwner.computeIfAbsent(owner, uuid -> new ReturnSweep());
+        return sweep.firstHit(weapon, this.slotsByOwner.get(owner), from, to);
+    }
+
+    /**
+     * All swords of this owner in every level, e.g. swords left behind in another dimension.
+     */
+    public static List<FloatingWeaponEntity> weaponsOfEverywhere(UUID owner) {
+        List<FloatingWeaponEntity> weapons = new ArrayList<>();
+        for (SwordSlots table : TABLES.values()) {
+            weapons.addAll(table.weaponsOf(owner));
+        }
+        return weapons;
+    }
+
+    /**
+     * All swords of this owner, in slot order.
+     */
+    public List<FloatingWeaponEntity> weaponsOf(UUID owner) {
+        FloatingWeaponEntity[] slots = this.slotsByOwner.get(owner);
+        if (slots == null) {
+            return Collections.emptyList();
+        }
+        List<FloatingWeaponEntity> weapons = new ArrayList<>(SLOT_COUNT);
+        for (FloatingWeaponEntity weapon : slots) {
+            if (weapon != null) {
+                weapons.add(weapon);
+            }
+        }
+        return weapons;
+    }
+}
@@ -0,0 +1,37 @@
+package fr.tom.magicmod.fx;
+
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+
+/**
+ * Entry point for every client-side spell particle.
+ *
+ * Items and entities live in common code, so they cannot see the client-only particle
+ * governor directly; they call {@link #add} and the client installs its governor here at
+ * startup. Without one (dedicated server) every particle is allowed, as before.
+ */
+public final class SpellParticles {
+    /**
+     * Decides whether one particle is worth spawning. {@code source} is the entity whose
+     * effect it belongs to (the caster, or a sword's owner), may be null.
+     */
+    public interface Governor {
+        boolean allow(double x, double y, double z, Entity source);
+    }
+
+    private static Governor governor = (x, y, z, source) -> true;
+
+    private SpellParticles() {
+    }
+
+    public static void setGovernor(Governor newGovernor) {
+        governor = newGovernor;
+    }
+
+    public static void add(Level level, ParticleOptions particle, Entity source, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed) {
+        if (level.isClientSide() && governor.allow(x, y, z, source)) {
+            level.addParticle(particle, x, y, z, xSpeed, ySpeed, zSpeed);
+        }
+    }
+}
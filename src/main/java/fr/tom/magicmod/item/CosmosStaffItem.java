@@ -1,5 +1,6 @@
 package fr.tom.magicmod.item;
 
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.LivingEntity;
@@ -11,7 +12,9 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.core.particles.ParticleTypes;
-import java.util.List;
+import fr.tom.magicmod.cosmos.GravityWells;
+import fr.tom.magicmod.fx.SpellParticles;
+import fr.tom.magicmod.world.AreaEffects;
 
 public class CosmosStaffItem extends Item {
     public CosmosStaffItem(Properties properties) {
@@ -37,51 +40,26 @@ public class CosmosStaffItem extends Item {
     @Override
     public void onUseTick(Level level, LivingEntity user, ItemStack stack, int remainingUseTicks) {
         if (!level.isClientSide() && user instanceof Player player) {
-            Vec3 look = player.getLookAngle();
-            Vec3 targetPos = player.getEyePosition().add(look.scale(4.0));
-            double radius = 5.0;
-            AABB area = player.getBoundingBox().inflate(radius).move(look.scale(2.0));
-            
-            List<LivingEntity> entities = level.getEntitiesOfClass(LivingEntity.class, area);
-            
-            for (LivingEntity entity : entities) {
-                if (entity != player) {
-                    Vec3 entityPos = entity.position().add(0, entity.getBbHeight() / 2, 0);
-                    Vec3 toTarget = targetPos.subtract(entityPos);
-                    
-                    double strength = 0.2;
-                    double damping = 0.8;
-                    
-                    Vec3 currentVel = entity.getDeltaMovement();
-                    Vec3 newVel = currentVel.scale(damping).add(toTarget.scale(strength));
-                    
-                    entity.setDeltaMovement(newVel);
-                    entity.setNoGravity(true);
-                    entity.fallDistance = 0;
-                }
-            }
+            // Capturing, pulling and letting go are handled by the caster's well
+            GravityWells.pull(player);
         } 
         
         if (level.isClientSide()) {
              Vec3 look = user.getLookAngle();
              Vec3 particlePos = user.getEyePosition().add(look.scale(1.0 + Math.random()));
-             level.addParticle(ParticleTypes.PORTAL, particlePos.x, particlePos.y, particlePos.z, 0, 0, 0);
+             SpellParticles.add(level, ParticleTypes.PORTAL, user, particlePos.x, particlePos.y, particlePos.z, 0, 0, 0);
         }
     }
 
     @Override
     public boolean releaseUsing(ItemStack stack, Level level, LivingEntity user, int timeLeft) {
         if (!level.isClientSide() && user instanceof Player player) {
+             // Gravity comes back for everything the well was holding
+             GravityWells.release(player);
+
              Vec3 look = player.getLookAngle();
              AABB area = player.getBoundingBox().inflate(6.0).move(look.scale(2.0));
-             List<LivingEntity> entities = level.getEntitiesOfClass(LivingEntity.class, area);
-             
-             for (LivingEntity entity : entities) {
-                 if (entity != player) {
-                     entity.setNoGravity(false);
-                     entity.setDeltaMovement(look.scale(3.0));
-                 }
-             }
+             AreaEffects.get((ServerLevel) level).inArea(area, player, AreaEffects.Effect.velocity(look.scale(3.0)));
              return true;
         }
         return false;
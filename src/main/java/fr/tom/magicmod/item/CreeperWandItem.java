@@ -1,5 +1,6 @@
 package fr.tom.magicmod.item;
 
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.effect.MobEffectInstance;
@@ -10,6 +11,8 @@ import net.minecraft.world.level.Level;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 
+import fr.tom.magicmod.world.WandBlasts;
+
 public class CreeperWandItem extends Item {
     public CreeperWandItem(Properties properties) {
         super(properties);
@@ -22,8 +25,9 @@ public class CreeperWandItem extends Item {
             player.addEffect(new MobEffectInstance(MobEffects.RESISTANCE, 20, 4)); // Amplifier 4 = Level 5 = 100% reduction
 
             // 2. Explosion: At player position, Power 3.0 (Creeper size)
+            // Goes off at the end of the tick, merged with any other wand blast it overlaps.
             // Interaction.MOB means it damages blocks/mobs standardly.
-            level.explode(player, player.getX(), player.getY(), player.getZ(), 3.0F, Level.ExplosionInteraction.MOB);
+            WandBlasts.queue((ServerLevel) level, player, player.position(), 3.0F);
         } else {
             // Client-side sound (Fuse sound)
             level.playSound(player, player.getX(), player.getY(), player.getZ(), 
@@ -0,0 +1,63 @@
+package fr.tom.magicmod.item;
+
+import fr.tom.magicmod.MagicItems;
+import fr.tom.magicmod.entity.FloatingWeaponEntity;
+import fr.tom.magicmod.entity.SwordSlots;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.EquipmentSlot;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Which players hold a Spectral Grimoire in either hand.
+ *
+ * Updated from equipment change events rather than checked by every sword every tick.
+ * When a player's flag flips, their swords are told once (see
+ * {@link FloatingWeaponEntity#onGrimoireEquipChanged}).
+ */
+public final class GrimoireEquipState {
+    private static final Set<UUID> EQUIPPED = new HashSet<>();
+
+    private GrimoireEquipState() {
+    }
+
+    public static void register() {
+        // Fired for hotbar scrolling and hand swaps too, since the held stack changes
+        ServerEntityEvents.EQUIPMENT_CHANGE.register((entity, slot, previous, current) -> {
+            if (entity instanceof ServerPlayer player && (slot == EquipmentSlot.MAINHAND || slot == EquipmentSlot.OFFHAND)) {
+                update(player);
+            }
+        });
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> update(handler.player));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> EQUIPPED.remove(handler.player.getUUID()));
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> update(newPlayer));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> EQUIPPED.clear());
+    }
+
+    public static boolean isEquipped(UUID player) {
+        return EQUIPPED.contains(player);
+    }
+
+    private static void update(ServerPlayer player) {
+        boolean equipped = player.getMainHandItem().is(MagicItems.SPECTRAL_GRIMOIRE)
+                        || player.getOffhandItem().is(MagicItems.SPECTRAL_GRIMOIRE);
+
+        UUID uuid = player.getUUID();
+        boolean changed = equipped ? EQUIPPED.add(uuid) : EQUIPPED.remove(uuid);
+        if (!changed) {
+            return;
+        }
+
+        // Swords left in another dimension keep following the flag too
+        for (FloatingWeaponEntity weapon : SwordSlots.weaponsOfEverywhere(uuid)) {
+            weapon.onGrimoireEquipChanged(equipped);
+        }
+    }
+}
@@ -7,7 +7,6 @@ import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.EntitySpawnReason;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LightningBolt;
-import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.level.Level;
@@ -20,6 +19,10 @@ import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.core.particles.ParticleTypes;
 
+import fr.tom.magicmod.fx.SpellParticles;
+import fr.tom.magicmod.world.AreaEffects;
+import fr.tom.magicmod.world.SpellRaycast;
+
 public class MagicWandItem extends Item {
     public MagicWandItem(Properties properties) {
         super(properties);
@@ -30,8 +33,8 @@ public class MagicWandItem extends Item {
         if (!level.isClientSide()) {
             ServerLevel serverLevel = (ServerLevel) level;
             
-            // 1. Raycast to find target block (Range 50)
-            BlockHitResult hitResult = (BlockHitResult) player.pick(50.0D, 0.0F, false);
+            // 1. Raycast to find target block (Range 50), grass and flowers included
+            BlockHitResult hitResult = SpellRaycast.block(player, 50.0D);
             
             if (hitResult.getType() == HitResult.Type.BLOCK) {
                 // 2. Spawn Lightning Bolt
@@ -43,12 +46,10 @@ public class MagicWandItem extends Item {
                 }
 
                 // 3. Levitation Effect (Area 4x4x4 around impact)
+                // Queued: overlapping strikes this tick share one lookup and one update per mob
                 AABB area = new AABB(hitResult.getBlockPos()).inflate(4);
-                for (LivingEntity entity : serverLevel.getEntitiesOfClass(LivingEntity.class, area)) {
-                    if (entity != player) { 
-                        entity.addEffect(new MobEffectInstance(MobEffects.LEVITATION, 60, 1)); 
-                    }
-                }
+                AreaEffects.get(serverLevel).inArea(area, player,
+                    AreaEffects.Effect.mobEffect(new MobEffectInstance(MobEffects.LEVITATION, 60, 1)));
             }
         } else {
             // Client-side effects
@@ -60,7 +61,7 @@ public class MagicWandItem extends Item {
                 double x = player.getX() + player.getLookAngle().x * d * 2.0;
                 double y = player.getEyeY() + player.getLookAngle().y * d * 2.0;
                 double z = player.getZ() + player.getLookAngle().z * d * 2.0;
-                level.addParticle(ParticleTypes.GLOW, x, y, z, 0.0D, 0.0D, 0.0D);
+                SpellParticles.add(level, ParticleTypes.GLOW, player, x, y, z, 0.0D, 0.0D, 0.0D);
             }
         }
 
@@ -17,65 +17,24 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.scores.PlayerTeam;
-import net.minecraft.world.scores.Scoreboard;
 import net.minecraft.world.entity.EntitySpawnReason;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.phys.AABB;
-import net.minecraft.world.entity.LivingEntity;
+
+import fr.tom.magicmod.MagicAttachments;
+import fr.tom.magicmod.MagicMod;
+import fr.tom.magicmod.fx.SpellParticles;
+import fr.tom.magicmod.minion.MinionRegistry;
+import fr.tom.magicmod.minion.SoulPactLedger;
+import fr.tom.magicmod.world.AreaEffects;
+
+import java.util.List;
 
 public class NecromancerStaffItem extends Item {
     public NecromancerStaffItem(Properties properties) {
         super(properties);
     }
 
-    // Unique ID for the Necromancer's Pact health modifier
-    private static final net.minecraft.resources.Identifier HEALTH_MODIFIER_ID = net.minecraft.resources.Identifier.fromNamespaceAndPath("magicmod", "necromancer_pact");
-
-    private void modifyMaxHealth(Player player, double amount) {
-        net.minecraft.world.entity.ai.attributes.AttributeInstance healthAttribute = player.getAttribute(net.minecraft.world.entity.ai.attributes.Attributes.MAX_HEALTH);
-        if (healthAttribute != null) {
-            net.minecraft.world.entity.ai.attributes.AttributeModifier existingModifier = healthAttribute.getModifier(HEALTH_MODIFIER_ID);
-            double currentDebt = 0.0;
-            
-            if (existingModifier != null) {
-                currentDebt = existingModifier.amount();
-                healthAttribute.removeModifier(HEALTH_MODIFIER_ID);
-            }
-            
-            // Calculate new debt
-            double newDebt = currentDebt + amount;
-            
-            // SAFEGUARD: The modifier must NEVER be positive (bonus health). 
-            // It represents a PENALTY (debt). Can be 0 or negative.
-            if (newDebt > 0) {
-                newDebt = 0;
-            }
-            
-            // Only apply if there is a debt
-            if (newDebt < 0) {
-                net.minecraft.world.entity.ai.attributes.AttributeModifier newModifier = new net.minecraft.world.entity.ai.attributes.AttributeModifier(
-                    HEALTH_MODIFIER_ID, 
-                    newDebt, 
-                    net.minecraft.world.entity.ai.attributes.AttributeModifier.Operation.ADD_VALUE
-                );
-                healthAttribute.addTransientModifier(newModifier);
-            }
-            
-            // Handle Visual Health Updates
-            if (amount > 0) {
-                 // Restoring health: Heal the void
-                 player.heal((float)amount);
-            } else {
-                 // Paying health: Clamp if over max
-                 if (player.getHealth() > player.getMaxHealth()) {
-                     player.setHealth(player.getMaxHealth());
-                 }
-            }
-        }
-    }
-
     @Override
     public InteractionResult use(Level level, Player player, InteractionHand hand) {
         ItemStack stack = player.getItemInHand(hand);
@@ -84,19 +43,17 @@ public class NecromancerStaffItem extends Item {
             if (!level.isClientSide()) {
                 // The Devourer (Finisher): Sacrifice minions to summoning Evoker Fangs
                 double range = 50.0;
-                AABB area = player.getBoundingBox().inflate(range);
-                java.util.List<WitherSkeleton> minions = level.getEntitiesOfClass(WitherSkeleton.class, area);
+                MinionRegistry registry = MinionRegistry.get((ServerLevel) level);
                 
                 int sacrificedCount = 0;
-                for (WitherSkeleton minion : minions) {
-                    if (minion.getTeam() != null && minion.getTeam().getName().equals("NecroArmy")) {
+                for (WitherSkeleton minion : registry.minionsOf(player.getUUID())) {
+                    if (minion.distanceToSqr(player) <= range * range) {
                         // SINGLE JAW: User requested only one jaw instead of a cluster
                         level.addFreshEntity(new net.minecraft.world.entity.projectile.EvokerFangs(level, minion.getX(), minion.getY(), minion.getZ(), player.getYRot(), 10, null));
                         
-                        // Prepare minion for execution
-                        minion.removeAllEffects();
-                        minion.addEffect(new MobEffectInstance(MobEffects.SLOWNESS, 40, 255));
-                        minion.setHealth(0.5f);
+                        // Prepare minion for execution, applied with the tick's other spell effects
+                        AreaEffects.get((ServerLevel) level).on(minion, new AreaEffects.Effect(true,
+                            List.of(new MobEffectInstance(MobEffects.SLOWNESS, 40, 255)), null, 0.5f));
                         
                         // RESTORE PACT: Handled by Soul Link event (MagicMod.java) upon death
                         // We do not refund here anymore to avoid double-counting and premature healing
@@ -148,14 +105,8 @@ public class NecromancerStaffItem extends Item {
             // Spawn every 2 seconds (40 ticks)
             if (ticksUsed % 40 == 0 && ticksUsed > 0) {
                 // Check Limit (Blood Pact)
-                double range = 50.0;
-                AABB area = player.getBoundingBox().inflate(range);
-                java.util.List<WitherSkeleton> existingMinions = level.getEntitiesOfClass(WitherSkeleton.class, area);
-                long allyCount = existingMinions.stream()
-                    .filter(m -> m.getTeam() != null && m.getTeam().getName().equals("NecroArmy"))
-                    .count();
-                    
-                if (allyCount >= 5) {
+                MinionRegistry registry = MinionRegistry.get(serverLevel);
+                if (registry.countOf(player.getUUID()) >= 5) {
                     level.playSound(null, player.getX(), player.getY(), player.getZ(), SoundEvents.FLINTANDSTEEL_USE, SoundSource.PLAYERS, 1.0f, 0.5f); // "Click" fail sound
                     return;
                 }
@@ -195,20 +146,11 @@ public class NecromancerStaffItem extends Item {
                     // PREVENT DESPAWN: Essential for "Soul Link" refund to work correctly
                     minion.setPersistenceRequired(); 
                     
-                    Scoreboard scoreboard = level.getScoreboard();
-                    PlayerTeam team = scoreboard.getPlayerTeam("NecroArmy");
-                    if (team == null) {
-                        team = scoreboard.addPlayerTeam("NecroArmy");
-                        team.setAllowFriendlyFire(false);
-                        team.setSeeFriendlyInvisibles(true);
-                        team.setColor(net.minecraft.ChatFormatting.DARK_GREEN);
-                    }
-                    scoreboard.addPlayerToTeam(player.getScoreboardName(), team);
-                    scoreboard.addPlayerToTeam(minion.getStringUUID(), team); 
-                    
-                    // TAGGING: Mark this minion as belonging to the player for "Soul Link" refund on death
-                    // We use Vanilla Tags because getPersistentData() is not available in these mappings
-                    minion.addTag("NecromancerOwner:" + player.getStringUUID());
+                    // OWNERSHIP: Mark this minion as belonging to the player for "Soul Link" refund on death
+                    // Stored as a persistent data attachment (saved with the entity).
+                    // The registry entry doubles as the allegiance table (no scoreboard team).
+                    // It is joined from ENTITY_LOAD when the minion is added (see MinionRegistry).
+                    MagicAttachments.setMinionOwner(minion, player.getUUID());
                     
                     serverLevel.addFreshEntity(minion);
                     
@@ -225,7 +167,8 @@ public class NecromancerStaffItem extends Item {
 
                     // COST: Max Health Reduction (Blood Pact)
                     // Reduces Max Health by 2 Hearts (4.0). Can only be regained by sacrificing the minion.
-                    modifyMaxHealth(player, -4.0);
+                    // Batched in the ledger and applied at end of tick.
+                    SoulPactLedger.addDelta(player.getUUID(), -MagicMod.PACT_COST);
                 }
             }
         }
@@ -251,11 +194,11 @@ public class NecromancerStaffItem extends Item {
                      double py = user.getY() + 0.1; 
                      
                      // No vertical speed (or very slight drift)
-                     level.addParticle(ParticleTypes.SOUL_FIRE_FLAME, px, py, pz, 0, 0.01, 0);
+                     SpellParticles.add(level, ParticleTypes.SOUL_FIRE_FLAME, user, px, py, pz, 0, 0.01, 0);
                      
                      // Occasional "Pop"
                      if (user.getRandom().nextFloat() < 0.1) {
-                         level.addParticle(ParticleTypes.SCULK_CHARGE_POP, px, py + 0.2, pz, 0, 0.05, 0);
+                         SpellParticles.add(level, ParticleTypes.SCULK_CHARGE_POP, user, px, py + 0.2, pz, 0, 0.05, 0);
                      }
                  }
              } else {
@@ -273,7 +216,7 @@ public class NecromancerStaffItem extends Item {
                      double vy = 0.05; // Slight rise
                      double vz = (user.getZ() - pz) * 0.05;
                      
-                     level.addParticle(ParticleTypes.SCULK_SOUL, px, py, pz, vx, vy, vz);
+                     SpellParticles.add(level, ParticleTypes.SCULK_SOUL, user, px, py, pz, vx, vy, vz);
                  }
              }
         }
@@ -8,6 +8,7 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.core.particles.ParticleTypes;
@@ -17,14 +18,21 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.ItemUseAnimation;
 
 import fr.tom.magicmod.entity.FloatingWeaponEntity;
+import fr.tom.magicmod.entity.SwordSlots;
 import fr.tom.magicmod.MagicEntities;
+import fr.tom.magicmod.scheduler.TickScheduler;
+import fr.tom.magicmod.network.VolleyLaunchPayload;
+import fr.tom.magicmod.world.SpellRaycast;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class SpectralGrimoireItem extends Item {
-    private static final int MAX_WEAPONS = 5;
+    private static final int MAX_WEAPONS = SwordSlots.SLOT_COUNT;
+    private static final int VOLLEY_COOLDOWN = 20;
     
     public SpectralGrimoireItem(Properties properties) {
         super(properties);
@@ -41,6 +49,11 @@ public class SpectralGrimoireItem extends Item {
                 // SUMMON MODE: START CHARGING
                 player.startUsingItem(hand);
                 return InteractionResult.CONSUME;
+            } else if (player.isShiftKeyDown()) {
+                // VOLLEY MODE: every orbiting sword at once
+                launchVolley(serverLevel, player);
+                player.getCooldowns().addCooldown(stack, VOLLEY_COOLDOWN);
+                return InteractionResult.SUCCESS;
             } else {
                 // LAUNCH MODE: INSTANT FIRE
                 // Smart Selection: Choose the sword most aligned with player's look direction
@@ -55,52 +68,7 @@ public class SpectralGrimoireItem extends Item {
                     }))
                     .orElse(orbitingWeapons.get(0));
                 
-                // AIMING LOGIC
-                // Perform a RayCast (Clip) to find exactly what the player is looking at
-                net.minecraft.world.phys.Vec3 eyePos = player.getEyePosition();
-                net.minecraft.world.phys.Vec3 lookVec = player.getLookAngle();
-                net.minecraft.world.phys.Vec3 endPos = eyePos.add(lookVec.scale(100.0)); // 100 blocks range
-                
-                // 1. Block Raycast
-                net.minecraft.world.level.ClipContext context = new net.minecraft.world.level.ClipContext(
-                    eyePos, endPos, 
-                    net.minecraft.world.level.ClipContext.Block.COLLIDER, 
-                    net.minecraft.world.level.ClipContext.Fluid.NONE, 
-                    player
-                );
-                
-                net.minecraft.world.phys.HitResult blockHit = level.clip(context);
-                net.minecraft.world.phys.Vec3 targetPos = blockHit.getLocation(); // Default to block hit
-                
-                // 2. Entity Raycast (Aim Assist)
-                // Check if we are pointing at an entity. If so, prioritize it!
-                net.minecraft.world.phys.AABB searchBox = player.getBoundingBox().expandTowards(lookVec.scale(100.0)).inflate(1.0);
-                
-                net.minecraft.world.phys.EntityHitResult entityHit = net.minecraft.world.entity.projectile.ProjectileUtil.getEntityHitResult(
-                    player, 
-                    eyePos, 
-                    endPos, 
-                    searchBox, 
-                    (e) -> !e.isSpectator() && e.isPickable() && e != player && !(e instanceof FloatingWeaponEntity), 
-                    100.0 * 100.0 // Distance squared limit
-                );
-                
-                // If we hit an entity, and it's closer than the block hit (or we missed blocks)
-                if (entityHit != null) {
-                    double distToBlock = blockHit.getLocation().distanceToSqr(eyePos);
-                    double distToEntity = entityHit.getLocation().distanceToSqr(eyePos);
-                    
-                    if (distToEntity < distToBlock || blockHit.getType() == net.minecraft.world.phys.HitResult.Type.MISS) {
-                        // AIM ASSIST: Target the CENTER of the entity
-                        // This fixes parallax issues where aiming at the edge of a mob sends the projectile to the wall behind it.
-                        targetPos = entityHit.getEntity().getBoundingBox().getCenter();
-                    }
-                }
-                
-                // If we hit nothing, use the far end point
-                if (blockHit.getType() == net.minecraft.world.phys.HitResult.Type.MISS && entityHit == null) {
-                    targetPos = endPos;
-                }
+                net.minecraft.world.phys.Vec3 targetPos = aimTarget(player);
                 
                 net.minecraft.world.phys.Vec3 swordPos = weaponToLaunch.position();
                 net.minecraft.world.phys.Vec3 launchDir = targetPos.subtract(swordPos).normalize();
@@ -120,6 +88,59 @@ public class SpectralGrimoireItem extends Item {
         return InteractionResult.CONSUME;
     }
     
+    // Where the player is aiming: the entity under the crosshair, else the block, else max range
+    private net.minecraft.world.phys.Vec3 aimTarget(Player player) {
+        // AIMING LOGIC
+        // Shared aim ray: exactly what the player is looking at (blocks, then entities in front)
+        SpellRaycast.Result aim = SpellRaycast.cast(player);
+        net.minecraft.world.phys.HitResult blockHit = aim.block();
+        net.minecraft.world.phys.Vec3 targetPos = blockHit.getLocation(); // Default to block hit
+        
+        // Entity Raycast (Aim Assist)
+        // If we are pointing at an entity in front of the block hit, prioritize it!
+        net.minecraft.world.phys.EntityHitResult entityHit = aim.entity();
+        if (entityHit != null) {
+            // AIM ASSIST: Target the CENTER of the entity
+            // This fixes parallax issues where aiming at the edge of a mob sends the projectile to the wall behind it.
+            targetPos = entityHit.getEntity().getBoundingBox().getCenter();
+        }
+        
+        // If we hit nothing, use the far end point
+        if (blockHit.getType() == net.minecraft.world.phys.HitResult.Type.MISS && entityHit == null) {
+            targetPos = aim.from().add(aim.look().scale(SpellRaycast.MAX_RANGE));
+        }
+        return targetPos;
+    }
+
+    private void launchVolley(ServerLevel level, Player player) {
+        // One aim ray and one pass over the slot table for the whole volley
+        net.minecraft.world.phys.Vec3 targetPos = aimTarget(player);
+        List<Integer> launchedIds = new ArrayList<>(MAX_WEAPONS);
+        List<net.minecraft.world.phys.Vec3> directions = new ArrayList<>(MAX_WEAPONS);
+        
+        for (FloatingWeaponEntity weapon : SwordSlots.get(level).weaponsOf(player.getUUID())) {
+            if (weapon.isLaunched()) {
+                continue;
+            }
+            net.minecraft.world.phys.Vec3 launchDir = targetPos.subtract(weapon.position()).normalize();
+            weapon.launch(launchDir, false); // single sound below
+            launchedIds.add(weapon.getId());
+            directions.add(launchDir);
+        }
+        
+        level.playSound(null, player.getX(), player.getY(), player.getZ(), 
+            SoundEvents.TRIDENT_RIPTIDE_1, SoundSource.PLAYERS, 1.0f, 1.2f);
+        
+        // One packet for the whole volley instead of waiting on each sword's own updates
+        VolleyLaunchPayload payload = new VolleyLaunchPayload(launchedIds, directions);
+        if (player instanceof ServerPlayer serverPlayer) {
+            ServerPlayNetworking.send(serverPlayer, payload);
+        }
+        for (ServerPlayer viewer : PlayerLookup.tracking(player)) {
+            ServerPlayNetworking.send(viewer, payload);
+        }
+    }
+
     @Override
     public void onUseTick(Level level, LivingEntity livingEntity, ItemStack stack, int remainingUseDuration) {
         if (livingEntity instanceof Player player && !level.isClientSide() && level instanceof ServerLevel serverLevel) {
@@ -140,69 +161,61 @@ public class SpectralGrimoireItem extends Item {
             }
 
             // PHASE 2: RITUAL SUMMONING (Every 12 ticks after 20) -> SLOWER (0.6s)
+            // The weapon rescan runs on the budgeted scheduler (usually the same tick)
             if ((useTime - 20) % 12 == 0) {
-                List<FloatingWeaponEntity> existingWeapons = getAllWeapons(serverLevel, player);
-                
-                // Ensure existing are recalling
-                for (FloatingWeaponEntity w : existingWeapons) {
-                    if (!w.isReturning()) w.setReturning(true);
-                }
-                
-                int currentCount = existingWeapons.size();
-                
-                if (currentCount < MAX_WEAPONS) {
-                    // Spawn ONE sword
-                    FloatingWeaponEntity weapon = new FloatingWeaponEntity(MagicEntities.FLOATING_WEAPON, serverLevel);
-                    weapon.setPos(player.getX(), player.getY() + 1.5, player.getZ());
-                    weapon.setOwner(player);
-                    
-                    // Assign Smart Slot (No Shifting) - BEFORE spawning
-                    assignFreeSlot(existingWeapons, weapon);
-                    
-                    serverLevel.addFreshEntity(weapon);
-                    existingWeapons.add(weapon);
-                    
-                    // FX: Forge Sound (Heavy Anvil)
-                    level.playSound(null, player.getX(), player.getY(), player.getZ(), 
-                        SoundEvents.ANVIL_LAND, SoundSource.PLAYERS, 0.8f, 1.0f);
-                    
-                    // FX: Forging Sparks
-                    serverLevel.sendParticles(ParticleTypes.SCRAPE, 
-                        player.getX(), player.getY() + 1.5, player.getZ(), 
-                        20, 0.5, 0.5, 0.5, 0.1);
-                } 
-                else {
-                    // Ritual Complete (Full Set)
-                    // Paladin Finale: Electric Trident Thunder
-                    level.playSound(null, player.getX(), player.getY(), player.getZ(), 
-                        SoundEvents.TRIDENT_THUNDER, SoundSource.PLAYERS, 1.0f, 1.0f);
-                    
-                    // Holy Flash
-                    serverLevel.sendParticles(ParticleTypes.EXPLOSION_EMITTER, 
-                        player.getX(), player.getY() + 1.5, player.getZ(), 
-                        1, 0.0, 0.0, 0.0, 0.0);
-                        
-                    player.stopUsingItem();
-                    player.getCooldowns().addCooldown(stack, 60);
-                }
+                TickScheduler.submit(TickScheduler.GRIMOIRE_RITUAL, player.getId(), () -> ritualStep(serverLevel, player, stack));
             }
         }
     }
 
-    private void assignFreeSlot(List<FloatingWeaponEntity> existingWeapons, FloatingWeaponEntity newWeapon) {
-        boolean[] used = new boolean[MAX_WEAPONS];
+    private void ritualStep(ServerLevel serverLevel, Player player, ItemStack stack) {
+        // Player may have released the item or left while the step was queued
+        if (player.isRemoved() || !player.isUsingItem() || player.getUseItem() != stack) {
+            return;
+        }
+        SwordSlots slots = SwordSlots.get(serverLevel);
+        List<FloatingWeaponEntity> existingWeapons = slots.weaponsOf(player.getUUID());
+        
+        // Ensure existing are recalling
         for (FloatingWeaponEntity w : existingWeapons) {
-            int idx = w.getOrbitIndex();
-            if (idx >= 0 && idx < MAX_WEAPONS) {
-                used[idx] = true;
-            }
+            if (!w.isReturning()) w.setReturning(true);
         }
         
-        for (int i = 0; i < MAX_WEAPONS; i++) {
-            if (!used[i]) {
-                newWeapon.setOrbitIndex(i);
-                return;
-            }
+        int currentCount = existingWeapons.size();
+        
+        if (currentCount < MAX_WEAPONS) {
+            // Spawn ONE sword
+            FloatingWeaponEntity weapon = new FloatingWeaponEntity(MagicEntities.FLOATING_WEAPON, serverLevel);
+            weapon.setPos(player.getX(), player.getY() + 1.5, player.getZ());
+            weapon.setOwner(player);
+            
+            // Assign Smart Slot (No Shifting) - BEFORE spawning, the sword claims it on load
+            weapon.setOrbitIndex(slots.freeSlot(player.getUUID()));
+            
+            serverLevel.addFreshEntity(weapon);
+            
+            // FX: Forge Sound (Heavy Anvil)
+            serverLevel.playSound(null, player.getX(), player.getY(), player.getZ(), 
+                SoundEvents.ANVIL_LAND, SoundSource.PLAYERS, 0.8f, 1.0f);
+            
+            // FX: Forging Sparks
+            serverLevel.sendParticles(ParticleTypes.SCRAPE, 
+                player.getX(), player.getY() + 1.5, player.getZ(), 
+                20, 0.5, 0.5, 0.5, 0.1);
+        } 
+        else {
+            // Ritual Complete (Full Set)
+            // Paladin Finale: Electric Trident Thunder
+            serverLevel.playSound(null, player.getX(), player.getY(), player.getZ(), 
+                SoundEvents.TRIDENT_THUNDER, SoundSource.PLAYERS, 1.0f, 1.0f);
+            
+            // Holy Flash
+            serverLevel.sendParticles(ParticleTypes.EXPLOSION_EMITTER, 
+                player.getX(), player.getY() + 1.5, player.getZ(), 
+                1, 0.0, 0.0, 0.0, 0.0);
+                
+            player.stopUsingItem();
+            player.getCooldowns().addCooldown(stack, 60);
         }
     }
 
@@ -217,29 +230,12 @@ public class SpectralGrimoireItem extends Item {
     }
 
     private List<FloatingWeaponEntity> getOrbitingWeapons(ServerLevel level, Player player) {
-        return level.getEntitiesOfClass(FloatingWeaponEntity.class, 
-            player.getBoundingBox().inflate(32.0),
-            weapon -> {
-                try {
-                    return weapon.getOwner() != null 
-                        && weapon.getOwner().equals(player)
-                        && !weapon.isLaunched(); // Only count orbiting weapons
-                } catch (Exception e) {
-                    return false;
-                }
-            });
-    }
-
-    private List<FloatingWeaponEntity> getAllWeapons(ServerLevel level, Player player) {
-        return level.getEntitiesOfClass(FloatingWeaponEntity.class, 
-            player.getBoundingBox().inflate(256.0),
-            weapon -> {
-                try {
-                    return weapon.getOwner() != null 
-                        && weapon.getOwner().equals(player);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+        List<FloatingWeaponEntity> orbiting = new ArrayList<>(MAX_WEAPONS);
+        for (FloatingWeaponEntity weapon : SwordSlots.get(level).weaponsOf(player.getUUID())) {
+            if (!weapon.isLaunched()) { // Only count orbiting weapons
+                orbiting.add(weapon);
+            }
+        }
+        return orbiting;
     }
 }
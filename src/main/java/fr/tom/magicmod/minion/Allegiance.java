@@ -0,0 +1,71 @@
+package fr.tom.magicmod.minion;
+
+import fr.tom.magicmod.MagicMod;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.Scoreboard;
+
+import java.util.UUID;
+
+/**
+ * Who fights for whom, without scoreboard teams.
+ *
+ * Each Necromancer and their own minions form one army, looked up in {@link MinionRegistry}.
+ * Armies of different players are not allied. Queried by the targeting filters, by
+ * {@code EntityMixin} (vanilla {@code isAlliedTo}) and by the friendly-fire check below.
+ */
+public final class Allegiance {
+    // Shared team used by older versions; removed on startup
+    private static final String LEGACY_TEAM = "NecroArmy";
+
+    private Allegiance() {
+    }
+
+    public static void register() {
+        // No friendly fire inside an army
+        ServerLivingEntityEvents.ALLOW_DAMAGE.register((entity, source, amount) -> {
+            Entity attacker = source.getEntity();
+            return attacker == null || attacker == entity || !areAllied(attacker, entity);
+        });
+
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            Scoreboard scoreboard = server.getScoreboard();
+            PlayerTeam legacyTeam = scoreboard.getPlayerTeam(LEGACY_TEAM);
+            if (legacyTeam != null) {
+                MagicMod.LOGGER.info("Removing legacy {} team ({} members)", LEGACY_TEAM, legacyTeam.getPlayers().size());
+                scoreboard.removePlayerTeam(legacyTeam);
+            }
+        });
+    }
+
+    /**
+     * The player an entity fights for: itself for a player, its owner for a minion, else null.
+     */
+    public static UUID leaderOf(Entity entity) {
+        if (entity instanceof Player) {
+            return entity.getUUID();
+        }
+        if (entity instanceof WitherSkeleton minion && entity.level() instanceof ServerLevel level) {
+            return MinionRegistry.get(level).ownerOf(minion);
+        }
+        return null;
+    }
+
+    public static boolean isAllyOf(Entity entity, UUID leader) {
+        return leader != null && leader.equals(leaderOf(entity));
+    }
+
+    public static boolean areAllied(Entity a, Entity b) {
+        // Only minions need a lookup; two non-minions are never allied here
+        if (!(a instanceof WitherSkeleton) && !(b instanceof WitherSkeleton)) {
+            return false;
+        }
+        UUID leader = leaderOf(a);
+        return leader != null && leader.equals(leaderOf(b));
+    }
+}
@@ -0,0 +1,56 @@
+package fr.tom.magicmod.minion;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.ai.goal.target.TargetGoal;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+
+import java.util.EnumSet;
+
+/**
+ * COMBAT PRIORITY: pick the nearest enemy from the squad's shared threat scan.
+ */
+public class DefendNecromancerGoal extends TargetGoal {
+    private final WitherSkeleton minion;
+    private final Squad squad;
+    private Mob candidate;
+
+    public DefendNecromancerGoal(WitherSkeleton minion, Squad squad) {
+        super(minion, false);
+        this.minion = minion;
+        this.squad = squad;
+        this.setFlags(EnumSet.of(Goal.Flag.TARGET));
+    }
+
+    @Override
+    public boolean canUse() {
+        // Only scan if we don't already have a valid target
+        if (this.minion.getTarget() != null && this.minion.getTarget().isAlive()) {
+            return false;
+        }
+        ServerLevel level = (ServerLevel) this.minion.level();
+        if (this.squad.findOwner(level) == null) {
+            return false; // Owner offline or in another dimension: minions idle
+        }
+
+        // The squad shares one scan per interval; each minion just picks its nearest candidate.
+        this.squad.threats().refresh(level, this.squad, level.getGameTime());
+        this.candidate = this.squad.threats().nearest(this.minion);
+        return this.candidate != null;
+    }
+
+    @Override
+    public void start() {
+        // Found food! Attack priority.
+        this.minion.setTarget(this.candidate);
+        this.minion.setAggressive(true);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        this.candidate = null;
+    }
+}
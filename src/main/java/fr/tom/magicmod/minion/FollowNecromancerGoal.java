@@ -0,0 +1,109 @@
+package fr.tom.magicmod.minion;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.EnumSet;
+
+/**
+ * FOLLOW PRIORITY: when not fighting, stay with the master.
+ * Teleports when lost, follows the squad corridor when lagging behind, and otherwise
+ * settles into a formation slot around the owner.
+ */
+public class FollowNecromancerGoal extends Goal {
+    private static final double TELEPORT_DISTANCE_SQR = 20.0 * 20.0;
+    private static final double FOLLOW_DISTANCE_SQR = 5.0 * 5.0;
+    private static final double SLOT_TOLERANCE_SQR = 2.0 * 2.0;
+    private static final double RUN_SPEED = 1.35;
+
+    private final WitherSkeleton minion;
+    private final Squad squad;
+    private Player owner;
+    private int timeToRecalcPath;
+
+    public FollowNecromancerGoal(WitherSkeleton minion, Squad squad) {
+        this.minion = minion;
+        this.squad = squad;
+        this.setFlags(EnumSet.of(Goal.Flag.MOVE, Goal.Flag.LOOK));
+    }
+
+    @Override
+    public boolean canUse() {
+        if (isFighting()) {
+            return false;
+        }
+        this.owner = this.squad.findOwner((ServerLevel) this.minion.level());
+        if (this.owner == null || this.owner.isSpectator()) {
+            return false;
+        }
+        return this.minion.distanceToSqr(this.owner) > FOLLOW_DISTANCE_SQR || !isInSlot();
+    }
+
+    @Override
+    public boolean canContinueToUse() {
+        if (isFighting() || this.owner == null || !this.owner.isAlive() || this.owner.level() != this.minion.level()) {
+            return false;
+        }
+        return !(this.minion.getNavigation().isDone() && isInSlot());
+    }
+
+    @Override
+    public void start() {
+        this.timeToRecalcPath = 0;
+    }
+
+    @Override
+    public void stop() {
+        this.owner = null;
+        this.minion.getNavigation().stop();
+    }
+
+    @Override
+    public void tick() {
+        this.minion.getLookControl().setLookAt(this.owner, 10.0F, (float) this.minion.getMaxHeadXRot());
+        if (--this.timeToRecalcPath > 0) {
+            return;
+        }
+        this.timeToRecalcPath = this.adjustedTickDelay(10);
+
+        double distSqr = this.minion.distanceToSqr(this.owner);
+
+        // Teleport if lost/stuck (> 20 blocks)
+        if (distSqr > TELEPORT_DISTANCE_SQR) {
+            this.minion.teleportTo(this.owner.getX(), this.owner.getY(), this.owner.getZ());
+            this.minion.setDeltaMovement(0, 0, 0);
+            this.minion.getNavigation().stop();
+        }
+
+        // Run to owner if hanging behind (> 5 blocks)
+        // The squad shares one corridor, recomputed only when the owner has moved
+        else if (distSqr > FOLLOW_DISTANCE_SQR) {
+            SquadPath path = this.squad.path();
+            path.update(this.minion, this.owner, this.minion.level().getGameTime());
+            if (!path.follow(this.minion, RUN_SPEED) && this.minion.getNavigation().isDone()) {
+                this.minion.getNavigation().moveTo(this.owner, RUN_SPEED); // Off the corridor: path on our own
+            }
+        }
+
+        // Close enough: settle into a formation slot around the owner
+        else if (this.minion.getNavigation().isDone() && !isInSlot()) {
+            Vec3 slot = slot();
+            this.minion.getNavigation().moveTo(slot.x, slot.y, slot.z, 1.0);
+        }
+    }
+
+    private boolean isFighting() {
+        return this.minion.getTarget() != null && this.minion.getTarget().isAlive();
+    }
+
+    private boolean isInSlot() {
+        return this.minion.distanceToSqr(slot()) <= SLOT_TOLERANCE_SQR;
+    }
+
+    private Vec3 slot() {
+        return SquadPath.slot(this.owner, this.squad.slotOf(this.minion), this.squad.minions.size());
+    }
+}
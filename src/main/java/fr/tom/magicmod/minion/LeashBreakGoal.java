@@ -0,0 +1,53 @@
+package fr.tom.magicmod.minion;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.entity.player.Player;
+
+/**
+ * REALITY CHECK: drop the target when the owner is too far away or the target has been
+ * out of sight. Takes no control flags so it never blocks other goals.
+ */
+public class LeashBreakGoal extends Goal {
+    private static final double LEASH_DISTANCE_SQR = 18.0 * 18.0;
+    private static final double SIGHT_CHECK_DISTANCE_SQR = 5.0 * 5.0;
+
+    private final WitherSkeleton minion;
+    private final Squad squad;
+
+    public LeashBreakGoal(WitherSkeleton minion, Squad squad) {
+        this.minion = minion;
+        this.squad = squad;
+    }
+
+    @Override
+    public boolean canUse() {
+        LivingEntity target = this.minion.getTarget();
+        if (target == null) {
+            return false;
+        }
+        ServerLevel level = (ServerLevel) this.minion.level();
+        Player owner = this.squad.findOwner(level);
+        if (owner == null) {
+            return false;
+        }
+
+        boolean tooFarFromOwner = this.minion.distanceToSqr(owner) > LEASH_DISTANCE_SQR; // > 18 blocks : Come back!
+        // Distance first: the raycast is only needed beyond 5 blocks, and its result is cached per minion
+        boolean cantSeeTarget = this.minion.distanceToSqr(target) > SIGHT_CHECK_DISTANCE_SQR
+            && !this.squad.sight().canSee(level, this.minion, target); // > 5 blocks & blocked view : Give up
+        return tooFarFromOwner || cantSeeTarget;
+    }
+
+    @Override
+    public boolean canContinueToUse() {
+        return false;
+    }
+
+    @Override
+    public void start() {
+        this.minion.setTarget(null); // Stop attacking
+    }
+}
@@ -0,0 +1,24 @@
+package fr.tom.magicmod.minion;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import java.util.UUID;
+
+/**
+ * Owner of a Necromancer minion, stored as the two halves of the player's UUID.
+ */
+public record MinionOwner(long most, long least) {
+    public static final Codec<MinionOwner> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        Codec.LONG.fieldOf("most").forGetter(MinionOwner::most),
+        Codec.LONG.fieldOf("least").forGetter(MinionOwner::least)
+    ).apply(instance, MinionOwner::new));
+
+    public static MinionOwner of(UUID uuid) {
+        return new MinionOwner(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public UUID uuid() {
+        return new UUID(this.most, this.least);
+    }
+}
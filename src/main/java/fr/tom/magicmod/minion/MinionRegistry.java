@@ -0,0 +1,104 @@
+package fr.tom.magicmod.minion;
+
+import fr.tom.magicmod.MagicAttachments;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-level index of Necromancer minions, keyed by owner UUID.
+ *
+ * Minions join when summoned (or when their chunk loads) and leave on death or unload,
+ * so every per-tick lookup costs O(minions of this owner) instead of a scan over
+ * every loaded entity.
+ */
+public final class MinionRegistry {
+    private static final Map<ServerLevel, MinionRegistry> REGISTRIES = new IdentityHashMap<>();
+
+    private final Map<UUID, Squad> squadsByOwner = new HashMap<>();
+    private final Map<WitherSkeleton, UUID> ownerByMinion = new IdentityHashMap<>();
+
+    private MinionRegistry() {
+    }
+
+    public static MinionRegistry get(ServerLevel level) {
+        return REGISTRIES.computeIfAbsent(level, l -> new MinionRegistry());
+    }
+
+    public static void register() {
+        // Chunk (re)load: minions saved with an owner rejoin their army
+        ServerEntityEvents.ENTITY_LOAD.register((entity, level) -> {
+            if (entity instanceof WitherSkeleton minion) {
+                UUID owner = MagicAttachments.getMinionOwner(minion);
+                if (owner != null) {
+                    get(level).join(owner, minion);
+                }
+            }
+        });
+
+        // Death, discard, dimension change or chunk unload
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, level) -> {
+            if (entity instanceof WitherSkeleton minion) {
+                MinionRegistry registry = REGISTRIES.get(level);
+                if (registry != null) {
+                    registry.leave(minion);
+                }
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, level) -> REGISTRIES.remove(level));
+    }
+
+    public void join(UUID owner, WitherSkeleton minion) {
+        UUID previous = this.ownerByMinion.put(minion, owner);
+        if (previous != null && !previous.equals(owner)) {
+            removeFromOwner(previous, minion);
+        }
+        Squad squad = this.squadsByOwner.computeIfAbsent(owner, Squad::new);
+        squad.minions.add(minion);
+        // Installs the follow / defend / leash goals (no-op if already enlisted in this squad)
+        ((NecromancerMinion) minion).magicmod$enlist(squad);
+    }
+
+    public void leave(WitherSkeleton minion) {
+        UUID owner = this.ownerByMinion.remove(minion);
+        if (owner != null) {
+            removeFromOwner(owner, minion);
+            ((NecromancerMinion) minion).magicmod$discharge();
+        }
+    }
+
+    private void removeFromOwner(UUID owner, WitherSkeleton minion) {
+        Squad squad = this.squadsByOwner.get(owner);
+        if (squad != null) {
+            squad.minions.remove(minion);
+            squad.forget(minion);
+            if (squad.minions.isEmpty()) {
+                // Drops the squad's shared caches along with it
+                this.squadsByOwner.remove(owner);
+            }
+        }
+    }
+
+    public UUID ownerOf(WitherSkeleton minion) {
+        return this.ownerByMinion.get(minion);
+    }
+
+    public Set<WitherSkeleton> minionsOf(UUID owner) {
+        Squad squad = this.squadsByOwner.get(owner);
+        return squad != null ? squad.minions() : Collections.emptySet();
+    }
+
+    public int countOf(UUID owner) {
+        Squad squad = this.squadsByOwner.get(owner);
+        return squad != null ? squad.minions.size() : 0;
+    }
+}
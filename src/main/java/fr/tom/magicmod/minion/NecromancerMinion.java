@@ -0,0 +1,11 @@
+package fr.tom.magicmod.minion;
+
+/**
+ * Implemented on wither skeletons by {@code WitherSkeletonMixin}.
+ * Enlisting installs the minion goals; unowned skeletons never get them.
+ */
+public interface NecromancerMinion {
+    void magicmod$enlist(Squad squad);
+
+    void magicmod$discharge();
+}
@@ -0,0 +1,117 @@
+package fr.tom.magicmod.minion;
+
+import fr.tom.magicmod.world.BlockChangeTracker;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived line-of-sight results for a squad's minions.
+ *
+ * A cached answer is reused until it is {@link #TTL} ticks old, either endpoint moved more
+ * than {@link #MOVE_THRESHOLD} blocks, the target changed, or a block update landed in one
+ * of the chunk sections the ray passes through.
+ */
+public final class SightCache {
+    public static final int TTL = 10;
+    public static final double MOVE_THRESHOLD = 1.0;
+    private static final double MOVE_THRESHOLD_SQR = MOVE_THRESHOLD * MOVE_THRESHOLD;
+
+    private final Map<WitherSkeleton, Entry> entries = new IdentityHashMap<>();
+
+    public boolean canSee(ServerLevel level, WitherSkeleton minion, LivingEntity target) {
+        long now = level.getGameTime();
+        Entry entry = this.entries.get(minion);
+
+        if (entry != null && entry.isValid(level, minion, target, now)) {
+            return entry.visible;
+        }
+
+        if (entry == null) {
+            entry = new Entry();
+            this.entries.put(minion, entry);
+        }
+        entry.target = target;
+        entry.visible = minion.hasLineOfSight(target);
+        entry.computedAt = now;
+        entry.minionX = minion.getX();
+        entry.minionY = minion.getY();
+        entry.minionZ = minion.getZ();
+        entry.targetX = target.getX();
+        entry.targetY = target.getY();
+        entry.targetZ = target.getZ();
+        entry.sections = sectionsAlong(minion.getEyePosition(), target.getEyePosition());
+        return entry.visible;
+    }
+
+    public void forget(WitherSkeleton minion) {
+        this.entries.remove(minion);
+    }
+
+    // Chunk sections crossed by the segment (3D DDA over 16-block cells)
+    private static long[] sectionsAlong(Vec3 from, Vec3 to) {
+        double fx = from.x / 16.0, fy = from.y / 16.0, fz = from.z / 16.0;
+        double dx = to.x / 16.0 - fx, dy = to.y / 16.0 - fy, dz = to.z / 16.0 - fz;
+
+        int x = Mth.floor(fx), y = Mth.floor(fy), z = Mth.floor(fz);
+        int endX = SectionPos.posToSectionCoord(to.x), endY = SectionPos.posToSectionCoord(to.y), endZ = SectionPos.posToSectionCoord(to.z);
+        int stepX = dx > 0 ? 1 : -1, stepY = dy > 0 ? 1 : -1, stepZ = dz > 0 ? 1 : -1;
+
+        double tDeltaX = dx != 0 ? Math.abs(1.0 / dx) : Double.MAX_VALUE;
+        double tDeltaY = dy != 0 ? Math.abs(1.0 / dy) : Double.MAX_VALUE;
+        double tDeltaZ = dz != 0 ? Math.abs(1.0 / dz) : Double.MAX_VALUE;
+        double tMaxX = dx != 0 ? (stepX > 0 ? x + 1 - fx : fx - x) * tDeltaX : Double.MAX_VALUE;
+        double tMaxY = dy != 0 ? (stepY > 0 ? y + 1 - fy : fy - y) * tDeltaY : Double.MAX_VALUE;
+        double tMaxZ = dz != 0 ? (stepZ > 0 ? z + 1 - fz : fz - z) * tDeltaZ : Double.MAX_VALUE;
+
+        LongArrayList sections = new LongArrayList(4);
+        sections.add(SectionPos.asLong(x, y, z));
+        // A 34-block ray crosses a handful of sections; the cap only guards against float drift
+        for (int guard = 0; guard < 16 && (x != endX || y != endY || z != endZ); guard++) {
+            if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+                x += stepX;
+                tMaxX += tDeltaX;
+            } else if (tMaxY < tMaxZ) {
+                y += stepY;
+                tMaxY += tDeltaY;
+            } else {
+                z += stepZ;
+                tMaxZ += tDeltaZ;
+            }
+            sections.add(SectionPos.asLong(x, y, z));
+        }
+        return sections.toLongArray();
+    }
+
+    private static final class Entry {
+        LivingEntity target;
+        boolean visible;
+        long computedAt;
+        double minionX, minionY, minionZ;
+        double targetX, targetY, targetZ;
+        long[] sections;
+
+        boolean isValid(ServerLevel level, WitherSkeleton minion, LivingEntity currentTarget, long now) {
+            if (this.target != currentTarget || now - this.computedAt >= TTL) {
+                return false;
+            }
+            if (minion.distanceToSqr(this.minionX, this.minionY, this.minionZ) > MOVE_THRESHOLD_SQR
+                || currentTarget.distanceToSqr(this.targetX, this.targetY, this.targetZ) > MOVE_THRESHOLD_SQR) {
+                return false;
+            }
+            for (long section : this.sections) {
+                if (BlockChangeTracker.changedSince(level, section, this.computedAt)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fr.tom.magicmod.minion;
+
+import fr.tom.magicmod.MagicAttachments;
+import fr.tom.magicmod.MagicMod;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.resources.Identifier;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Blood Pact debt of every Necromancer, persisted with the world.
+ *
+ * Summons and minion deaths only record a delta; all deltas of a tick are folded into the
+ * ledger at the end of the tick and each affected player gets a single max-health modifier
+ * update. Owners who are offline when a minion dies are settled when they next join.
+ */
+public final class SoulPactLedger {
+    // Unique ID for the Necromancer's Pact health modifier
+    public static final Identifier HEALTH_MODIFIER_ID = Identifier.fromNamespaceAndPath(MagicMod.MOD_ID, "necromancer_pact");
+
+    // Debt per player: 0 or negative max health
+    private static final Map<UUID, Double> DEBTS = new HashMap<>();
+    // Deltas recorded during the current tick
+    private static final Map<UUID, Double> PENDING = new LinkedHashMap<>();
+
+    private SoulPactLedger() {
+    }
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            DEBTS.clear();
+            Map<UUID, Double> saved = server.overworld().getAttached(MagicAttachments.SOUL_PACT_DEBT);
+            if (saved != null) {
+                DEBTS.putAll(saved);
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            DEBTS.clear();
+            PENDING.clear();
+        });
+
+        ServerTickEvents.END_SERVER_TICK.register(SoulPactLedger::flush);
+
+        // Transient modifiers don't survive relog or respawn: re-apply the stored debt
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> applyModifier(handler.player, debtOf(handler.player.getUUID())));
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> applyModifier(newPlayer, debtOf(newPlayer.getUUID())));
+    }
+
+    /**
+     * Records a change of max health for this player: negative to pay, positive to refund.
+     * Applied at the end of the tick.
+     */
+    public static void addDelta(UUID player, double amount) {
+        PENDING.merge(player, amount, Double::sum);
+    }
+
+    public static double debtOf(UUID player) {
+        return DEBTS.getOrDefault(player, 0.0);
+    }
+
+    private static void flush(MinecraftServer server) {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<UUID, Double> entry : PENDING.entrySet()) {
+            UUID uuid = entry.getKey();
+            double amount = entry.getValue();
+
+            // SAFEGUARD: The modifier must NEVER be positive (bonus health).
+            // It represents a PENALTY (debt). Can be 0 or negative.
+            double newDebt = Math.min(debtOf(uuid) + amount, 0.0);
+            if (newDebt < 0) {
+                DEBTS.put(uuid, newDebt);
+            } else {
+                DEBTS.remove(uuid);
+            }
+
+            ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+            if (player != null) {
+                applyModifier(player, newDebt);
+                if (amount > 0) {
+                    player.heal((float) (amount / 2.0)); // Small comfort heal (1 heart per returned fragment)
+                }
+            }
+        }
+        PENDING.clear();
+
+        // One save-dirty write per tick with changes
+        server.overworld().setAttached(MagicAttachments.SOUL_PACT_DEBT, Map.copyOf(DEBTS));
+    }
+
+    private static void applyModifier(ServerPlayer player, double debt) {
+        AttributeInstance healthAttribute = player.getAttribute(Attributes.MAX_HEALTH);
+        if (healthAttribute == null) {
+            return;
+        }
+
+        // Single update (no remove + add) so the attribute is synced once
+        if (debt < 0) {
+            healthAttribute.addOrUpdateTransientModifier(new AttributeModifier(HEALTH_MODIFIER_ID, debt, AttributeModifier.Operation.ADD_VALUE));
+        } else {
+            healthAttribute.removeModifier(HEALTH_MODIFIER_ID);
+        }
+
+        // Paying health: Clamp if over max
+        if (player.getHealth() > player.getMaxHealth()) {
+            player.setHealth(player.getMaxHealth());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package fr.tom.magicmod.minion;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.entity.player.Player;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * All minions of one owner in one level, plus the state they share.
+ * Lives as long as the owner has at least one registered minion.
+ */
+public final class Squad {
+    private final UUID owner;
+    final Set<WitherSkeleton> minions = new LinkedHashSet<>();
+    private final ThreatGrid threats = new ThreatGrid();
+    private final SightCache sight = new SightCache();
+    private final SquadPath path = new SquadPath();
+
+    Squad(UUID owner) {
+        this.owner = owner;
+    }
+
+    public UUID owner() {
+        return this.owner;
+    }
+
+    // Owner entity if it is in this level (hash lookup, no player list scan)
+    public Player findOwner(ServerLevel level) {
+        return level.getEntity(this.owner) instanceof Player player ? player : null;
+    }
+
+    public Set<WitherSkeleton> minions() {
+        return Collections.unmodifiableSet(this.minions);
+    }
+
+    public ThreatGrid threats() {
+        return this.threats;
+    }
+
+    public SightCache sight() {
+        return this.sight;
+    }
+
+    public SquadPath path() {
+        return this.path;
+    }
+
+    // Position of the minion in iteration order, used for formation slots
+    public int slotOf(WitherSkeleton minion) {
+        int index = 0;
+        for (WitherSkeleton other : this.minions) {
+            if (other == minion) {
+                return index;
+            }
+            index++;
+        }
+        return 0;
+    }
+
+    // Drops per-minion cached state when a minion leaves the squad
+    void forget(WitherSkeleton minion) {
+        this.sight.forget(minion);
+        this.path.forget(minion);
+    }
+}
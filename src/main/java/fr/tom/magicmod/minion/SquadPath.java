@@ -0,0 +1,112 @@
+package fr.tom.magicmod.minion;
+
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared path corridor from the squad toward its owner.
+ *
+ * One pathfind per owner move: the corridor is recomputed only when the owner drifts more
+ * than {@link #REPATH_DISTANCE} blocks from where it was computed (or it gets stale).
+ * Minions join the corridor at their closest node, so followers reuse the same nodes
+ * instead of each pathing to a moving player, and then settle into formation slots.
+ */
+public final class SquadPath {
+    public static final double REPATH_DISTANCE = 3.0;
+    public static final int MAX_AGE = 60;
+    // Minions further than this from every corridor node path on their own
+    private static final double JOIN_DISTANCE_SQR = 4.0 * 4.0;
+    private static final double SLOT_RADIUS = 3.0;
+
+    private List<Node> nodes;
+    private Path corridor;
+    private double anchorX, anchorY, anchorZ;
+    private long computedAt = -MAX_AGE;
+    private int version;
+    private final Map<WitherSkeleton, Integer> appliedVersion = new IdentityHashMap<>();
+
+    /**
+     * Recomputes the corridor from {@code leader} to the owner if the owner moved enough.
+     */
+    public void update(WitherSkeleton leader, Player owner, long now) {
+        // A failed pathfind (null corridor) is also kept until the owner moves, so an
+        // unreachable owner doesn't cost a pathfind every pass
+        if (owner.distanceToSqr(this.anchorX, this.anchorY, this.anchorZ) <= REPATH_DISTANCE * REPATH_DISTANCE
+            && now - this.computedAt < MAX_AGE) {
+            return;
+        }
+
+        this.corridor = leader.getNavigation().createPath(owner, 1);
+        this.anchorX = owner.getX();
+        this.anchorY = owner.getY();
+        this.anchorZ = owner.getZ();
+        this.computedAt = now;
+        this.version++;
+
+        if (this.corridor != null) {
+            this.nodes = new ArrayList<>(this.corridor.getNodeCount());
+            for (int i = 0; i < this.corridor.getNodeCount(); i++) {
+                this.nodes.add(this.corridor.getNode(i));
+            }
+        } else {
+            this.nodes = null;
+        }
+    }
+
+    /**
+     * Puts the minion on the current corridor. Returns false if there is no corridor or the
+     * minion is too far from it, in which case the caller falls back to its own navigation.
+     */
+    public boolean follow(WitherSkeleton minion, double speed) {
+        if (this.corridor == null || this.nodes.isEmpty()) {
+            return false;
+        }
+
+        Integer applied = this.appliedVersion.get(minion);
+        if (applied != null && applied == this.version && !minion.getNavigation().isDone()) {
+            return true; // Already walking the latest corridor
+        }
+
+        int joinIndex = -1;
+        double bestDist = JOIN_DISTANCE_SQR;
+        for (int i = 0; i < this.nodes.size(); i++) {
+            Node node = this.nodes.get(i);
+            double dist = minion.distanceToSqr(node.x + 0.5, node.y, node.z + 0.5);
+            if (dist < bestDist) {
+                bestDist = dist;
+                joinIndex = i;
+            }
+        }
+        if (joinIndex < 0) {
+            return false;
+        }
+
+        // Paths are stateful (next node index, trimming), so each minion gets its own copy of the node list.
+        // Copying a few node references is far cheaper than running the pathfinder again.
+        Path path = new Path(new ArrayList<>(this.nodes), this.corridor.getTarget(), this.corridor.canReach());
+        path.setNextNodeIndex(joinIndex);
+        minion.getNavigation().moveTo(path, speed);
+        this.appliedVersion.put(minion, this.version);
+        return true;
+    }
+
+    /**
+     * Formation slot of the {@code index}-th of {@code count} minions, on a ring around the owner.
+     */
+    public static Vec3 slot(Player owner, int index, int count) {
+        double angle = index * (Math.PI * 2 / Math.max(count, 1));
+        return new Vec3(owner.getX() + Math.cos(angle) * SLOT_RADIUS, owner.getY(), owner.getZ() + Math.sin(angle) * SLOT_RADIUS);
+    }
+
+    void forget(WitherSkeleton minion) {
+        this.appliedVersion.remove(minion);
+    }
+}
@@ -0,0 +1,122 @@
+package fr.tom.magicmod.minion;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.TamableAnimal;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Shared enemy scan for one squad.
+ *
+ * Minions standing close together share one entity query (union of their aggro boxes),
+ * and the scan runs at most once per {@link #SCAN_INTERVAL} ticks. Candidates are bucketed
+ * into 16-block cells, so each minion only looks at the 3x3x3 cells around itself and
+ * keeps the closest match in a single pass.
+ */
+public final class ThreatGrid {
+    public static final double AGGRO_RANGE = 16.0;
+    public static final int SCAN_INTERVAL = 10;
+    // Widest a group of minions sharing one query may get, per axis, before aggro inflation
+    private static final double MAX_CLUSTER_EXTENT = AGGRO_RANGE * 2;
+
+    private final Long2ObjectOpenHashMap<List<Mob>> cells = new Long2ObjectOpenHashMap<>();
+    private long lastScan = -SCAN_INTERVAL;
+
+    /**
+     * Rescans around the squad if the last scan is older than the interval.
+     */
+    public void refresh(ServerLevel level, Squad squad, long gameTime) {
+        if (gameTime - this.lastScan < SCAN_INTERVAL || squad.minions.isEmpty()) {
+            return;
+        }
+        this.lastScan = gameTime;
+
+        this.cells.clear();
+
+        // Minions close together share one box; a straggler far away gets its own, so one
+        // minion left at base does not stretch a single query over everything in between
+        List<AABB> clusters = new ArrayList<>();
+        for (WitherSkeleton minion : squad.minions) {
+            AABB box = minion.getBoundingBox();
+            boolean merged = false;
+            for (int i = 0; i < clusters.size(); i++) {
+                AABB grown = clusters.get(i).minmax(box);
+                if (grown.getXsize() <= MAX_CLUSTER_EXTENT && grown.getYsize() <= MAX_CLUSTER_EXTENT && grown.getZsize() <= MAX_CLUSTER_EXTENT) {
+                    clusters.set(i, grown);
+                    merged = true;
+                    break;
+                }
+            }
+            if (!merged) {
+                clusters.add(box);
+            }
+        }
+
+        // Own army is looked up in the allegiance table; other armies are fair game
+        UUID owner = squad.owner();
+        Set<Mob> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AABB cluster : clusters) {
+            List<Mob> candidates = level.getEntitiesOfClass(Mob.class, cluster.inflate(AGGRO_RANGE), e ->
+                 e.isAlive()
+                 && !(e instanceof TamableAnimal tamable && tamable.isTame())
+                 && !Allegiance.isAllyOf(e, owner)
+            );
+
+            for (Mob candidate : candidates) {
+                // Cluster boxes may overlap once inflated
+                if (seen.add(candidate)) {
+                    this.cells.computeIfAbsent(cellKey(candidate.getX(), candidate.getY(), candidate.getZ()), k -> new ArrayList<>()).add(candidate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closest live candidate inside the minion's aggro box, or null.
+     */
+    public Mob nearest(WitherSkeleton minion) {
+        AABB aggroBox = minion.getBoundingBox().inflate(AGGRO_RANGE);
+        int cx = SectionPos.posToSectionCoord(minion.getX());
+        int cy = SectionPos.posToSectionCoord(minion.getY());
+        int cz = SectionPos.posToSectionCoord(minion.getZ());
+
+        Mob best = null;
+        double bestDist = Double.MAX_VALUE;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    List<Mob> cell = this.cells.get(SectionPos.asLong(cx + dx, cy + dy, cz + dz));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size(); i++) {
+                        Mob candidate = cell.get(i);
+                        if (candidate == minion || !candidate.isAlive() || !aggroBox.intersects(candidate.getBoundingBox())) {
+                            continue;
+                        }
+                        double dist = candidate.distanceToSqr(minion);
+                        if (dist < bestDist) {
+                            bestDist = dist;
+                            best = candidate;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long cellKey(double x, double y, double z) {
+        return SectionPos.asLong(SectionPos.posToSectionCoord(x), SectionPos.posToSectionCoord(y), SectionPos.posToSectionCoord(z));
+    }
+}
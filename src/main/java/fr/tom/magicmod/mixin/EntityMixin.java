@@ -0,0 +1,19 @@
+package fr.tom.magicmod.mixin;
+
+import fr.tom.magicmod.minion.Allegiance;
+import net.minecraft.world.entity.Entity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(Entity.class)
+public abstract class EntityMixin {
+    // Necromancer armies are allied without a scoreboard team (targeting conditions use this)
+    @Inject(method = "isAlliedTo(Lnet/minecraft/world/entity/Entity;)Z", at = @At("HEAD"), cancellable = true)
+    private void magicmod$necromancerAllegiance(Entity other, CallbackInfoReturnable<Boolean> cir) {
+        if (Allegiance.areAllied((Entity) (Object) this, other)) {
+            cir.setReturnValue(true);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package fr.tom.magicmod.mixin;
+
+import fr.tom.magicmod.entity.FloatingWeaponEntity;
+import net.minecraft.server.level.ServerEntity;
+import net.minecraft.world.entity.Entity;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerEntity.class)
+public abstract class ServerEntityMixin {
+    @Shadow @Final private Entity entity;
+
+    @Shadow
+    protected abstract void sendDirtyEntityData();
+
+    // Floating weapons pick their own movement rate per state; synced data always goes out
+    @Inject(method = "sendChanges", at = @At("HEAD"), cancellable = true)
+    private void magicmod$weaponTrackingPolicy(CallbackInfo ci) {
+        if (this.entity instanceof FloatingWeaponEntity weapon) {
+            int interval = weapon.movementSyncInterval();
+            if (interval == 0 || this.entity.tickCount % interval != 0) {
+                this.sendDirtyEntityData();
+                ci.cancel();
+            }
+        }
+    }
+}
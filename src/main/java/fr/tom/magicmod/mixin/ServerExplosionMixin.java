@@ -0,0 +1,37 @@
+package fr.tom.magicmod.mixin;
+
+import fr.tom.magicmod.world.ExplosionRays;
+import fr.tom.magicmod.world.WandBlasts;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Explosion;
+import net.minecraft.world.level.ExplosionDamageCalculator;
+import net.minecraft.world.level.ServerExplosion;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Mixin(ServerExplosion.class)
+public abstract class ServerExplosionMixin {
+    @Shadow @Final private ExplosionDamageCalculator damageCalculator;
+
+    // Creeper Wand blasts trace their block rays in parallel from a snapshot
+    @Inject(method = "calculateExplodedPositions", at = @At("HEAD"), cancellable = true)
+    private void magicmod$wandBlastRays(CallbackInfoReturnable<List<BlockPos>> cir) {
+        if (!WandBlasts.isDetonating()) {
+            return;
+        }
+        Explosion explosion = (Explosion) (Object) this;
+        if (explosion.getBlockInteraction() == Explosion.BlockInteraction.KEEP) {
+            // mobGriefing is off: the positions would never be used
+            cir.setReturnValue(new ArrayList<>());
+            return;
+        }
+        cir.setReturnValue(ExplosionRays.explodedPositions(explosion, this.damageCalculator));
+    }
+}
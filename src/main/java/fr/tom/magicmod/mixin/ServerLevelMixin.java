@@ -0,0 +1,19 @@
+package fr.tom.magicmod.mixin;
+
+import fr.tom.magicmod.world.BlockChangeTracker;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerLevel.class)
+public abstract class ServerLevelMixin {
+    // Every block change that clients are told about goes through here
+    @Inject(method = "sendBlockUpdated", at = @At("HEAD"))
+    private void magicmod$trackBlockChange(BlockPos pos, BlockState oldState, BlockState newState, int flags, CallbackInfo ci) {
+        BlockChangeTracker.onBlockChanged((ServerLevel) (Object) this, pos);
+    }
+}
@@ -0,0 +1,64 @@
+package fr.tom.magicmod.mixin;
+
+import fr.tom.magicmod.minion.DefendNecromancerGoal;
+import fr.tom.magicmod.minion.FollowNecromancerGoal;
+import fr.tom.magicmod.minion.LeashBreakGoal;
+import fr.tom.magicmod.minion.NecromancerMinion;
+import fr.tom.magicmod.minion.Squad;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.monster.skeleton.AbstractSkeleton;
+import net.minecraft.world.entity.monster.skeleton.WitherSkeleton;
+import net.minecraft.world.level.Level;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(WitherSkeleton.class)
+public abstract class WitherSkeletonMixin extends AbstractSkeleton implements NecromancerMinion {
+    @Unique
+    private Squad magicmod$squad;
+    @Unique
+    private Goal magicmod$followGoal;
+    @Unique
+    private Goal magicmod$defendGoal;
+    @Unique
+    private Goal magicmod$leashGoal;
+
+    protected WitherSkeletonMixin(EntityType<? extends AbstractSkeleton> type, Level level) {
+        super(type, level);
+    }
+
+    @Override
+    public void magicmod$enlist(Squad squad) {
+        if (this.magicmod$squad == squad) {
+            return;
+        }
+        this.magicmod$discharge();
+
+        WitherSkeleton self = (WitherSkeleton) (Object) this;
+        this.magicmod$squad = squad;
+        this.magicmod$followGoal = new FollowNecromancerGoal(self, squad);
+        this.magicmod$defendGoal = new DefendNecromancerGoal(self, squad);
+        this.magicmod$leashGoal = new LeashBreakGoal(self, squad);
+
+        // Follow sits with the melee goal (4): it only runs without a target, so it yields to combat
+        this.goalSelector.addGoal(4, this.magicmod$followGoal);
+        // Leash check first, then the squad's threat pick alongside vanilla player targeting
+        this.targetSelector.addGoal(0, this.magicmod$leashGoal);
+        this.targetSelector.addGoal(2, this.magicmod$defendGoal);
+    }
+
+    @Override
+    public void magicmod$discharge() {
+        if (this.magicmod$squad == null) {
+            return;
+        }
+        this.goalSelector.removeGoal(this.magicmod$followGoal);
+        this.targetSelector.removeGoal(this.magicmod$leashGoal);
+        this.targetSelector.removeGoal(this.magicmod$defendGoal);
+        this.magicmod$squad = null;
+        this.magicmod$followGoal = null;
+        this.magicmod$defendGoal = null;
+        this.magicmod$leashGoal = null;
+    }
+}
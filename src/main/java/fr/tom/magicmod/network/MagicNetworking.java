@@ -0,0 +1,12 @@
+package fr.tom.magicmod.network;
+
+import fr.tom.magicmod.MagicMod;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+
+public class MagicNetworking {
+    public static void registerPayloads() {
+        MagicMod.LOGGER.info("Registering Payloads for " + MagicMod.MOD_ID);
+
+        PayloadTypeRegistry.playS2C().register(VolleyLaunchPayload.TYPE, VolleyLaunchPayload.CODEC);
+    }
+}
@@ -0,0 +1,31 @@
+package fr.tom.magicmod.network;
+
+import fr.tom.magicmod.MagicMod;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.List;
+
+/**
+ * Grimoire volley: every sword launched by one cast, with its launch direction, sent to
+ * viewers as a single packet so all swords leave the ring on the same client frame.
+ */
+public record VolleyLaunchPayload(List<Integer> weaponIds, List<Vec3> directions) implements CustomPacketPayload {
+    public static final CustomPacketPayload.Type<VolleyLaunchPayload> TYPE =
+        new CustomPacketPayload.Type<>(Identifier.fromNamespaceAndPath(MagicMod.MOD_ID, "volley_launch"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, VolleyLaunchPayload> CODEC = StreamCodec.composite(
+        ByteBufCodecs.VAR_INT.apply(ByteBufCodecs.list()), VolleyLaunchPayload::weaponIds,
+        Vec3.STREAM_CODEC.apply(ByteBufCodecs.list()), VolleyLaunchPayload::directions,
+        VolleyLaunchPayload::new
+    );
+
+    @Override
+    public CustomPacketPayload.Type<VolleyLaunchPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,68 @@
+package fr.tom.magicmod.scheduler;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+/**
+ * Central time-sliced scheduler for the mod's server-side work.
+ *
+ * Periodic work is spread over its period by hashing the entity id ({@link #isDue}),
+ * so entities spawned on the same tick do not all fire together. Due work is queued
+ * with {@link #submit} and drained at the end of the server tick until the per-tick
+ * budget is spent; whatever is left runs first on the next tick.
+ */
+public final class TickScheduler {
+    // Milliseconds of mod work allowed per server tick (out of 50)
+    public static final long BUDGET_MILLIS = 2;
+    private static final long BUDGET_NANOS = BUDGET_MILLIS * 1_000_000L;
+
+    // Job kinds, used to build unique queue keys together with an entity id
+    public static final int SWORD_HOUSEKEEPING = 1;
+    public static final int GRIMOIRE_RITUAL = 2;
+
+    // Insertion ordered: leftover work from previous ticks is drained first
+    private static final Long2ObjectLinkedOpenHashMap<Runnable> PENDING = new Long2ObjectLinkedOpenHashMap<>();
+
+    private TickScheduler() {
+    }
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> drain());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> PENDING.clear());
+    }
+
+    /**
+     * True on one tick out of every {@code period} for this id. The phase comes from a
+     * hash of the id so consecutive ids land on different ticks.
+     */
+    public static boolean isDue(int id, long gameTime, int period) {
+        int phase = Math.floorMod(id * 0x9E3779B9, period);
+        return Math.floorMod(gameTime, period) == phase;
+    }
+
+    /**
+     * Queues a job. A job with the same kind and id that has not run yet is kept
+     * instead, so slow ticks never let the queue grow without bound.
+     */
+    public static void submit(int kind, int id, Runnable job) {
+        PENDING.putIfAbsent(key(kind, id), job);
+    }
+
+    private static long key(int kind, int id) {
+        return ((long) kind << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    private static void drain() {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+
+        // Always run at least one job so the queue keeps moving on slow ticks
+        long deadline = System.nanoTime() + BUDGET_NANOS;
+        do {
+            Runnable job = PENDING.removeFirst();
+            job.run();
+        } while (!PENDING.isEmpty() && System.nanoTime() < deadline);
+    }
+}
@@ -0,0 +1,194 @@
+package fr.tom.magicmod.world;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.core.Holder;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-level queue of spell impacts, applied together at the end of the server tick.
+ *
+ * Impacts whose areas overlap are merged and looked up with a single entity query, and
+ * everything one entity receives during the tick is folded into one update before it is
+ * applied: one instance per effect type (the strongest), one velocity, one health value.
+ * Spamming a spell over the same spot therefore costs one query and one set of updates
+ * per tick, not one per cast.
+ *
+ * Packets are not bundled: each merged effect still goes through {@code addEffect}, which
+ * sends its own update to a player target (mobs only sync it through their entity data).
+ * What is saved is the repeats, one update per effect type per entity per tick.
+ */
+public final class AreaEffects {
+    private static final Map<ServerLevel, AreaEffects> QUEUES = new IdentityHashMap<>();
+
+    private final ServerLevel level;
+    private final List<Impact> impacts = new ArrayList<>();
+    // Entities hit directly, or resolved from an area; insertion ordered so casts apply in order
+    private final Map<LivingEntity, Pending> pending = new LinkedHashMap<>();
+
+    private AreaEffects(ServerLevel level) {
+        this.level = level;
+    }
+
+    public static AreaEffects get(ServerLevel level) {
+        return QUEUES.computeIfAbsent(level, AreaEffects::new);
+    }
+
+    public static void register() {
+        // Spells are cast while players are ticked, after the levels, so this sees the
+        // whole tick's casts
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            for (AreaEffects queue : QUEUES.values()) {
+                queue.flush();
+            }
+        });
+        ServerWorldEvents.UNLOAD.register((server, level) -> QUEUES.remove(level));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> QUEUES.clear());
+    }
+
+    /**
+     * Queues {@code effect} for every living entity touching {@code area}, except
+     * {@code source} (may be null).
+     */
+    public void inArea(AABB area, Entity source, Effect effect) {
+        this.impacts.add(new Impact(area, source, effect));
+    }
+
+    /**
+     * Queues {@code effect} for one known entity, folded with whatever else it gets this tick.
+     */
+    public void on(LivingEntity target, Effect effect) {
+        this.pending.computeIfAbsent(target, entity -> new Pending()).merge(effect);
+    }
+
+    private void flush() {
+        if (!this.impacts.isEmpty()) {
+            for (Cluster cluster : cluster(this.impacts)) {
+                for (LivingEntity entity : this.level.getEntitiesOfClass(LivingEntity.class, cluster.bounds)) {
+                    for (Impact impact : cluster.impacts) {
+                        if (entity != impact.source && impact.area.intersects(entity.getBoundingBox())) {
+                            on(entity, impact.effect);
+                        }
+                    }
+                }
+            }
+            this.impacts.clear();
+        }
+
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<LivingEntity, Pending> entry : this.pending.entrySet()) {
+            LivingEntity entity = entry.getKey();
+            if (entity.isAlive() && entity.level() == this.level) {
+                entry.getValue().apply(entity);
+            }
+        }
+        this.pending.clear();
+    }
+
+    // Groups impacts whose areas overlap, directly or through other impacts
+    private static List<Cluster> cluster(List<Impact> impacts) {
+        List<Cluster> clusters = new ArrayList<>();
+        for (Impact impact : impacts) {
+            Cluster merged = new Cluster(impact.area);
+            merged.impacts.add(impact);
+            // The grown box may now reach clusters it did not touch before
+            boolean grew = true;
+            while (grew) {
+                grew = false;
+                for (int i = clusters.size() - 1; i >= 0; i--) {
+                    Cluster other = clusters.get(i);
+                    if (other.bounds.intersects(merged.bounds)) {
+                        merged.bounds = merged.bounds.minmax(other.bounds);
+                        merged.impacts.addAll(other.impacts);
+                        clusters.remove(i);
+                        grew = true;
+                    }
+                }
+            }
+            clusters.add(merged);
+        }
+        return clusters;
+    }
+
+    /**
+     * What an impact does to each entity it reaches. Null or empty parts are left out;
+     * {@code clearEffects} runs before the effects are added.
+     */
+    public record Effect(boolean clearEffects, List<MobEffectInstance> effects, Vec3 velocity, Float health) {
+        public static Effect mobEffect(MobEffectInstance effect) {
+            return new Effect(false, List.of(effect), null, null);
+        }
+
+        public static Effect velocity(Vec3 velocity) {
+            return new Effect(false, List.of(), velocity, null);
+        }
+    }
+
+    private record Impact(AABB area, Entity source, Effect effect) {
+    }
+
+    private static final class Cluster {
+        AABB bounds;
+        final List<Impact> impacts = new ArrayList<>();
+
+        Cluster(AABB bounds) {
+            this.bounds = bounds;
+        }
+    }
+
+    // Everything one entity receives this tick
+    private static final class Pending {
+        boolean clearEffects;
+        final Map<Holder<MobEffect>, MobEffectInstance> effects = new LinkedHashMap<>();
+        Vec3 velocity;
+        Float health;
+
+        void merge(Effect effect) {
+            this.clearEffects |= effect.clearEffects();
+            for (MobEffectInstance instance : effect.effects()) {
+                // Same rule as re-applying an effect: higher amplifier, then longer duration
+                this.effects.merge(instance.getEffect(), instance, (current, added) ->
+                    added.getAmplifier() > current.getAmplifier()
+                        || added.getAmplifier() == current.getAmplifier() && added.getDuration() > current.getDuration()
+                        ? added : current);
+            }
+            if (effect.velocity() != null) {
+                this.velocity = effect.velocity();
+            }
+            if (effect.health() != null) {
+                this.health = this.health == null ? effect.health() : Math.min(this.health, effect.health());
+            }
+        }
+
+        void apply(LivingEntity entity) {
+            if (this.clearEffects) {
+                entity.removeAllEffects();
+            }
+            for (MobEffectInstance instance : this.effects.values()) {
+                // Instances tick down once applied, so every entity gets its own copy
+                entity.addEffect(new MobEffectInstance(instance));
+            }
+            if (this.velocity != null) {
+                entity.setDeltaMovement(this.velocity);
+            }
+            if (this.health != null) {
+                entity.setHealth(this.health);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package fr.tom.magicmod.world;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the last game tick at which each chunk section had a block update, so cached
+ * block queries (line of sight, paths) can tell whether the terrain under them changed.
+ * Fed by {@code ServerLevelMixin}.
+ */
+public final class BlockChangeTracker {
+    // Stamps older than this are forgotten; caches must not trust results older than it either
+    public static final int RETENTION_TICKS = 200;
+
+    private static final Map<ServerLevel, Long2LongOpenHashMap> LAST_CHANGE = new IdentityHashMap<>();
+
+    private BlockChangeTracker() {
+    }
+
+    public static void register() {
+        ServerTickEvents.END_WORLD_TICK.register(level -> {
+            if (level.getGameTime() % RETENTION_TICKS == 0) {
+                Long2LongOpenHashMap stamps = LAST_CHANGE.get(level);
+                if (stamps != null) {
+                    long cutoff = level.getGameTime() - RETENTION_TICKS;
+                    stamps.long2LongEntrySet().removeIf(entry -> entry.getLongValue() < cutoff);
+                }
+            }
+        });
+        ServerWorldEvents.UNLOAD.register((server, level) -> LAST_CHANGE.remove(level));
+    }
+
+    public static void onBlockChanged(ServerLevel level, BlockPos pos) {
+        Long2LongOpenHashMap stamps = LAST_CHANGE.computeIfAbsent(level, l -> {
+            Long2LongOpenHashMap map = new Long2LongOpenHashMap();
+            map.defaultReturnValue(Long.MIN_VALUE);
+            return map;
+        });
+        stamps.put(SectionPos.asLong(pos), level.getGameTime());
+    }
+
+    /**
+     * True if any block in the given section changed at or after {@code tick}.
+     */
+    public static boolean changedSince(ServerLevel level, long sectionKey, long tick) {
+        Long2LongMap stamps = LAST_CHANGE.get(level);
+        return stamps != null && stamps.get(sectionKey) >= tick;
+    }
+}
@@ -0,0 +1,187 @@
+package fr.tom.magicmod.world;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Explosion;
+import net.minecraft.world.level.ExplosionDamageCalculator;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * The block rays of an explosion, traced across cores.
+ *
+ * Same rays and attenuation as vanilla: one ray through every cell on the surface of a
+ * 16x16x16 grid, each losing power with every 0.3 block step and with the resistance of
+ * the blocks it crosses. The blast resistance of every block the rays can reach is read
+ * once on the server thread into a snapshot; the rays then only read that snapshot, so
+ * they can run on the common fork-join pool. The random ray strengths are drawn up front,
+ * in vanilla order, and the final per-block check runs back on the server thread.
+ */
+public final class ExplosionRays {
+    private static final float STEP = 0.3F;
+    private static final float STEP_FALLOFF = 0.22500001F;
+    // No resistance (air), and outside the world
+    private static final float NONE = -1.0F;
+    private static final float OUTSIDE = Float.NaN;
+
+    // Unit direction of every ray, x, y, z per ray
+    private static final double[] DIRECTIONS = directions();
+    private static final int RAYS = DIRECTIONS.length / 3;
+
+    private ExplosionRays() {
+    }
+
+    /**
+     * Blocks the explosion destroys, in no particular order (mutable, as vanilla's).
+     */
+    public static List<BlockPos> explodedPositions(Explosion explosion, ExplosionDamageCalculator calculator) {
+        ServerLevel level = explosion.level();
+        Vec3 center = explosion.center();
+        float radius = explosion.radius();
+
+        float[] strengths = new float[RAYS];
+        for (int i = 0; i < RAYS; i++) {
+            strengths[i] = radius * (0.7F + level.random.nextFloat() * 0.6F);
+        }
+
+        // Even through air a ray fades out after this many blocks
+        int reach = Mth.ceil(radius * 1.3F / STEP_FALLOFF * STEP) + 1;
+        Snapshot snapshot = Snapshot.capture(explosion, calculator, center, reach);
+
+        List<int[]> hits = IntStream.range(0, RAYS).parallel()
+            .mapToObj(ray -> snapshot.trace(center, ray, strengths[ray]))
+            .toList();
+
+        // Strongest ray power left at each cell, 0 if no ray broke it
+        float[] power = new float[snapshot.resistance.length];
+        for (int[] rayHits : hits) {
+            for (int i = 0; i < rayHits.length; i += 2) {
+                float left = Float.intBitsToFloat(rayHits[i + 1]);
+                if (left > power[rayHits[i]]) {
+                    power[rayHits[i]] = left;
+                }
+            }
+        }
+
+        List<BlockPos> exploded = new ArrayList<>();
+        for (int cell = 0; cell < power.length; cell++) {
+            if (power[cell] > 0.0F) {
+                BlockPos pos = snapshot.pos(cell);
+                if (calculator.shouldBlockExplode(explosion, level, pos, snapshot.states[cell], power[cell])) {
+                    exploded.add(pos);
+                }
+            }
+        }
+        return exploded;
+    }
+
+    private static double[] directions() {
+        double[] directions = new double[(16 * 16 * 16 - 14 * 14 * 14) * 3];
+        int n = 0;
+        for (int j = 0; j < 16; j++) {
+            for (int k = 0; k < 16; k++) {
+                for (int l = 0; l < 16; l++) {
+                    if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
+                        double x = (float) j / 15.0F * 2.0F - 1.0F;
+                        double y = (float) k / 15.0F * 2.0F - 1.0F;
+                        double z = (float) l / 15.0F * 2.0F - 1.0F;
+                        double length = Math.sqrt(x * x + y * y + z * z);
+                        directions[n++] = x / length;
+                        directions[n++] = y / length;
+                        directions[n++] = z / length;
+                    }
+                }
+            }
+        }
+        return directions;
+    }
+
+    /**
+     * Blast resistance and block state of every cell of the cube the rays can reach.
+     * Filled on the server thread, only read afterwards.
+     */
+    private record Snapshot(int minX, int minY, int minZ, int size, float[] resistance, BlockState[] states) {
+        static Snapshot capture(Explosion explosion, ExplosionDamageCalculator calculator, Vec3 center, int reach) {
+            ServerLevel level = explosion.level();
+            int minX = Mth.floor(center.x) - reach;
+            int minY = Mth.floor(center.y) - reach;
+            int minZ = Mth.floor(center.z) - reach;
+            int size = reach * 2 + 1;
+
+            float[] resistance = new float[size * size * size];
+            BlockState[] states = new BlockState[resistance.length];
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int dx = 0; dx < size; dx++) {
+                for (int dy = 0; dy < size; dy++) {
+                    for (int dz = 0; dz < size; dz++) {
+                        int cell = (dx * size + dy) * size + dz;
+                        pos.set(minX + dx, minY + dy, minZ + dz);
+                        if (!level.isInWorldBounds(pos)) {
+                            resistance[cell] = OUTSIDE;
+                            continue;
+                        }
+                        BlockState state = level.getBlockState(pos);
+                        states[cell] = state;
+                        Optional<Float> blockResistance = calculator.getBlockExplosionResistance(explosion, level, pos, state, level.getFluidState(pos));
+                        resistance[cell] = blockResistance.isPresent() ? blockResistance.get() : NONE;
+                    }
+                }
+            }
+            return new Snapshot(minX, minY, minZ, size, resistance, states);
+        }
+
+        BlockPos pos(int cell) {
+            int dz = cell % this.size;
+            int dy = cell / this.size % this.size;
+            int dx = cell / (this.size * this.size);
+            return new BlockPos(this.minX + dx, this.minY + dy, this.minZ + dz);
+        }
+
+        /**
+         * Follows one ray, returning the cells it can break as pairs of cell index and
+         * remaining power (float bits).
+         */
+        int[] trace(Vec3 center, int ray, float strength) {
+            double stepX = DIRECTIONS[ray * 3] * STEP;
+            double stepY = DIRECTIONS[ray * 3 + 1] * STEP;
+            double stepZ = DIRECTIONS[ray * 3 + 2] * STEP;
+            double x = center.x, y = center.y, z = center.z;
+
+            int[] hits = new int[16];
+            int count = 0;
+            for (float left = strength; left > 0.0F; left -= STEP_FALLOFF) {
+                int dx = Mth.floor(x) - this.minX, dy = Mth.floor(y) - this.minY, dz = Mth.floor(z) - this.minZ;
+                if (dx < 0 || dy < 0 || dz < 0 || dx >= this.size || dy >= this.size || dz >= this.size) {
+                    break;
+                }
+                int cell = (dx * this.size + dy) * this.size + dz;
+                float blockResistance = this.resistance[cell];
+                if (Float.isNaN(blockResistance)) {
+                    break;
+                }
+                if (blockResistance != NONE) {
+                    left -= (blockResistance + 0.3F) * 0.3F;
+                    // Air cells are skipped, there is nothing there to break
+                    if (left > 0.0F) {
+                        if (count == hits.length) {
+                            hits = Arrays.copyOf(hits, count * 2);
+                        }
+                        hits[count++] = cell;
+                        hits[count++] = Float.floatToIntBits(left);
+                    }
+                }
+                x += stepX;
+                y += stepY;
+                z += stepZ;
+            }
+            return Arrays.copyOf(hits, count);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package fr.tom.magicmod.world;
+
+import fr.tom.magicmod.entity.FloatingWeaponEntity;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.ClipContext;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.EntityHitResult;
+import net.minecraft.world.phys.HitResult;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Aim ray shared by the targeted spells: what a player is looking at, blocks and entities.
+ *
+ * The block hit is found first and bounds the entity search. Entities are then queried one
+ * chunk section at a time along the ray (3D DDA over 16-block cells), nearest first,
+ * stopping as soon as the closest hit is known, instead of one box around the whole ray.
+ * Results are kept for the rest of the tick so spells cast together share one ray, and the
+ * entity walk only runs the first time a spell asks for the entity. Spells that only want
+ * a block use {@link #block} instead.
+ */
+public final class SpellRaycast {
+    public static final double MAX_RANGE = 100.0;
+    // Sections checked around the ray also catch entities whose box pokes into it
+    private static final double SECTION_MARGIN = 1.0;
+
+    private static final Map<UUID, Result> LAST_CAST = new HashMap<>();
+
+    private SpellRaycast() {
+    }
+
+    public static void register() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> LAST_CAST.remove(handler.player.getUUID()));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> LAST_CAST.clear());
+    }
+
+    /**
+     * Casts (or reuses this tick's) {@link #MAX_RANGE}-block aim ray from the player's eyes.
+     */
+    public static Result cast(Player player) {
+        Level level = player.level();
+        Vec3 from = player.getEyePosition();
+        Vec3 look = player.getLookAngle();
+        long now = level.getGameTime();
+
+        Result cached = LAST_CAST.get(player.getUUID());
+        if (cached != null && cached.gameTime == now && cached.from.equals(from) && cached.look.equals(look)) {
+            return cached;
+        }
+
+        Vec3 end = from.add(look.scale(MAX_RANGE));
+        BlockHitResult block = level.clip(new ClipContext(from, end, ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, player));
+
+        Result result = new Result(player, from, look, now, block);
+        LAST_CAST.put(player.getUUID(), result);
+        return result;
+    }
+
+    /**
+     * Block the player is looking at within {@code range}, against block outlines (grass and
+     * flowers included) like {@code Player.pick}. No entity search, no memo.
+     */
+    public static BlockHitResult block(Player player, double range) {
+        Vec3 from = player.getEyePosition();
+        Vec3 end = from.add(player.getLookAngle().scale(range));
+        return player.level().clip(new ClipContext(from, end, ClipContext.Block.OUTLINE, ClipContext.Fluid.NONE, player));
+    }
+
+    private static EntityHitResult firstEntity(Level level, Player player, Vec3 from, Vec3 to) {
+        Vec3 ray = to.subtract(from);
+        double length = ray.length();
+        if (length < 1.0E-4) {
+            // Looking straight into a wall
+            return null;
+        }
+
+        // Walk in section units; t goes from 0 (eyes) to 1 (end of the ray)
+        double fx = from.x / 16.0, fy = from.y / 16.0, fz = from.z / 16.0;
+        double dx = to.x / 16.0 - fx, dy = to.y / 16.0 - fy, dz = to.z / 16.0 - fz;
+
+        int x = Mth.floor(fx), y = Mth.floor(fy), z = Mth.floor(fz);
+        int stepX = dx > 0 ? 1 : -1, stepY = dy > 0 ? 1 : -1, stepZ = dz > 0 ? 1 : -1;
+
+        double tDeltaX = dx != 0 ? Math.abs(1.0 / dx) : Double.MAX_VALUE;
+        double tDeltaY = dy != 0 ? Math.abs(1.0 / dy) : Double.MAX_VALUE;
+        double tDeltaZ = dz != 0 ? Math.abs(1.0 / dz) : Double.MAX_VALUE;
+        double tMaxX = dx != 0 ? (stepX > 0 ? x + 1 - fx : fx - x) * tDeltaX : Double.MAX_VALUE;
+        double tMaxY = dy != 0 ? (stepY > 0 ? y + 1 - fy : fy - y) * tDeltaY : Double.MAX_VALUE;
+        double tMaxZ = dz != 0 ? (stepZ > 0 ? z + 1 - fz : fz - z) * tDeltaZ : Double.MAX_VALUE;
+
+        Entity closest = null;
+        Vec3 closestHit = null;
+        double closestT = Double.MAX_VALUE;
+
+        double tEnter = 0.0;
+        while (tEnter < 1.0) {
+            double tExit = Math.min(1.0, Math.min(tMaxX, Math.min(tMaxY, tMaxZ)));
+
+            // Only the piece of the ray inside this section is queried
+            AABB piece = new AABB(from.add(ray.scale(tEnter)), from.add(ray.scale(tExit))).inflate(SECTION_MARGIN);
+            for (Entity candidate : level.getEntities(player, piece, SpellRaycast::isTargetable)) {
+                AABB box = candidate.getBoundingBox().inflate(candidate.getPickRadius());
+                if (box.contains(from)) {
+                    return new EntityHitResult(candidate, from);
+                }
+                Optional<Vec3> clip = box.clip(from, to);
+                if (clip.isPresent()) {
+                    double t = from.distanceTo(clip.get()) / length;
+                    if (t < closestT) {
+                        closest = candidate;
+                        closestHit = clip.get();
+                        closestT = t;
+                    }
+                }
+            }
+
+            // Every hit up to tExit has been seen, so nothing further along can be closer
+            if (closest != null && closestT <= tExit) {
+                break;
+            }
+
+            // Step into the next section along the ray
+            tEnter = tExit;
+            if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+                tMaxX += tDeltaX;
+            } else if (tMaxY < tMaxZ) {
+                tMaxY += tDeltaY;
+            } else {
+                tMaxZ += tDeltaZ;
+            }
+        }
+        return closest != null ? new EntityHitResult(closest, closestHit) : null;
+    }
+
+    private static boolean isTargetable(Entity entity) {
+        return !entity.isSpectator() && entity.isPickable() && !(entity instanceof FloatingWeaponEntity);
+    }
+
+    /**
+     * One aim ray. {@link #entity} is the closest targetable entity in front of the block hit,
+     * or null; it is searched for on first access and kept.
+     */
+    public static final class Result {
+        private final Player player;
+        private final Vec3 from;
+        private final Vec3 look;
+        private final long gameTime;
+        private final BlockHitResult block;
+        private EntityHitResult entity;
+        private boolean entitySearched;
+
+        private Result(Player player, Vec3 from, Vec3 look, long gameTime, BlockHitResult block) {
+            this.player = player;
+            this.from = from;
+            this.look = look;
+            this.gameTime = gameTime;
+            this.block = block;
+        }
+
+        public Vec3 from() {
+            return this.from;
+        }
+
+        public Vec3 look() {
+            return this.look;
+        }
+
+        public BlockHitResult block() {
+            return this.block;
+        }
+
+        public EntityHitResult entity() {
+            if (!this.entitySearched) {
+                this.entitySearched = true;
+                // Nothing past the first wall can be targeted
+                Vec3 end = this.block.getType() == HitResult.Type.MISS ? this.from.add(this.look.scale(MAX_RANGE)) : this.block.getLocation();
+                this.entity = firstEntity(this.player.level(), this.player, this.from, end);
+            }
+            return this.entity;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package fr.tom.magicmod.world;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-level queue of Creeper Wand explosions, detonated at the end of the server tick.
+ *
+ * Blasts cast in the same tick by the same caster at (nearly) the same spot are merged into
+ * one explosion with the power of the strongest, so spamming the wand on one spot does the
+ * block and entity work once. Blasts of different casters are never merged, so each keeps
+ * its own reach and its kills. Wand explosions compute their block rays with
+ * {@link ExplosionRays} (see {@code ServerExplosionMixin}).
+ */
+public final class WandBlasts {
+    // Centers closer than this count as the same spot
+    private static final double MERGE_DISTANCE = 1.0;
+
+    private static final Map<ServerLevel, List<Blast>> QUEUES = new IdentityHashMap<>();
+
+    // Set while one of our explosions is being detonated
+    private static boolean detonating;
+
+    private WandBlasts() {
+    }
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            for (Map.Entry<ServerLevel, List<Blast>> entry : QUEUES.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    detonate(entry.getKey(), entry.getValue());
+                }
+            }
+        });
+        ServerWorldEvents.UNLOAD.register((server, level) -> QUEUES.remove(level));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> QUEUES.clear());
+    }
+
+    /**
+     * Queues a mob-griefing explosion of {@code power} at {@code center}, caused by {@code source}.
+     */
+    public static void queue(ServerLevel level, Entity source, Vec3 center, float power) {
+        QUEUES.computeIfAbsent(level, l -> new ArrayList<>()).add(new Blast(source, center, power));
+    }
+
+    /**
+     * True while a wand explosion is running, for the explosion mixin.
+     */
+    public static boolean isDetonating() {
+        return detonating;
+    }
+
+    private static void detonate(ServerLevel level, List<Blast> queued) {
+        List<Blast> merged = merge(queued);
+        queued.clear();
+
+        detonating = true;
+        try {
+            for (Blast blast : merged) {
+                level.explode(blast.source, blast.center.x, blast.center.y, blast.center.z, blast.power, Level.ExplosionInteraction.MOB);
+            }
+        } finally {
+            detonating = false;
+        }
+    }
+
+    private static List<Blast> merge(List<Blast> queued) {
+        List<Blast> merged = new ArrayList<>();
+        for (Blast blast : queued) {
+            int duplicate = -1;
+            for (int i = 0; i < merged.size(); i++) {
+                Blast other = merged.get(i);
+                if (other.source == blast.source && other.center.distanceToSqr(blast.center) < MERGE_DISTANCE * MERGE_DISTANCE) {
+                    duplicate = i;
+                    break;
+                }
+            }
+            if (duplicate < 0) {
+                merged.add(blast);
+            } else if (blast.power > merged.get(duplicate).power) {
+                // Same caster on the same spot: one blast, as strong as the strongest
+                merged.set(duplicate, new Blast(blast.source, merged.get(duplicate).center, blast.power));
+            }
+        }
+        return merged;
+    }
+
+    private record Blast(Entity source, Vec3 center, float power) {
+    }
+}
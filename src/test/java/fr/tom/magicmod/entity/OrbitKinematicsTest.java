@@ -0,0 +1,82 @@
+package fr.tom.magicmod.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class OrbitKinematicsTest {
+    // Phases are rounded to the nearest table step: at most half a step of angle error
+    private static final double STEP_ERROR = Math.PI / OrbitKinematics.TABLE_SIZE;
+    private static final double EPSILON = 1.0E-9;
+
+    // Keeps the JIT from dropping the measured calls
+    private double sink;
+
+    @Test
+    void matchesSinAndCosWithinTableError() {
+        double[] out = new double[3];
+        double[] times = {0.0, 0.5, 1.0, 17.25, 1234.5, 24000.0, 1.0E6 + 0.75, 1.0E9 + 0.3};
+        for (double time : times) {
+            for (int slot = 0; slot < SwordSlots.SLOT_COUNT; slot++) {
+                OrbitKinematics.slot(10.0, 64.0, -5.0, time, slot, out, 0);
+
+                double angle = time * OrbitKinematics.SPEED + slot * (Math.PI * 2 / SwordSlots.SLOT_COUNT);
+                assertEquals(10.0 + Math.cos(angle) * OrbitKinematics.RADIUS, out[0],
+                    OrbitKinematics.RADIUS * STEP_ERROR + EPSILON, "x at time " + time + ", slot " + slot);
+                // The bob turns three times faster, and so does its rounding error
+                assertEquals(64.0 + OrbitKinematics.HEIGHT + Math.sin(angle * 3) * OrbitKinematics.BOB, out[1],
+                    OrbitKinematics.BOB * 3 * STEP_ERROR + EPSILON, "y at time " + time + ", slot " + slot);
+                assertEquals(-5.0 + Math.sin(angle) * OrbitKinematics.RADIUS, out[2],
+                    OrbitKinematics.RADIUS * STEP_ERROR + EPSILON, "z at time " + time + ", slot " + slot);
+            }
+        }
+    }
+
+    @Test
+    void ringMatchesSlots() {
+        double[] ring = new double[SwordSlots.SLOT_COUNT * 3];
+        double[] slot = new double[3];
+        OrbitKinematics.ring(1.0, 2.0, 3.0, 98765.4, ring);
+        for (int i = 0; i < SwordSlots.SLOT_COUNT; i++) {
+            OrbitKinematics.slot(1.0, 2.0, 3.0, 98765.4, i, slot, 0);
+            assertEquals(slot[0], ring[i * 3]);
+            assertEquals(slot[1], ring[i * 3 + 1]);
+            assertEquals(slot[2], ring[i * 3 + 2]);
+        }
+    }
+
+    @Test
+    void allocatesNothingPerCall() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "allocation counters unavailable");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "allocation counters unsupported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        double[] slot = new double[3];
+        double[] ring = new double[SwordSlots.SLOT_COUNT * 3];
+        // Warm up so the measured loop runs compiled code, as it would after a few server ticks
+        evaluate(200_000, slot, ring);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        evaluate(1_000_000, slot, ring);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // A single boxed value per call would be megabytes; leave room for counter noise only
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes over 1,000,000 ticks");
+    }
+
+    private void evaluate(int ticks, double[] slot, double[] ring) {
+        double sum = 0.0;
+        for (int tick = 0; tick < ticks; tick++) {
+            OrbitKinematics.slot(0.5, 70.0, 0.5, tick + 0.25, tick % SwordSlots.SLOT_COUNT, slot, 0);
+            OrbitKinematics.ring(0.5, 70.0, 0.5, tick + 0.25, ring);
+            sum += slot[1] + ring[4];
+        }
+        this.sink += sum;
+    }
+}